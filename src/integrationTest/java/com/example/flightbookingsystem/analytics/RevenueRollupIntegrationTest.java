@@ -0,0 +1,125 @@
+package com.example.flightbookingsystem.analytics;
+
+import com.example.flightbookingsystem.dto.RevenueReportDTO;
+import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.repository.DailyRevenueRollupRepository;
+import com.example.flightbookingsystem.service.RevenueAnalyticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class RevenueRollupIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    @Autowired
+    private DailyRevenueRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private RevenueAnalyticsService revenueAnalyticsService;
+    private User user;
+    private int references;
+
+    @BeforeEach
+    void setUp() {
+        revenueAnalyticsService = new RevenueAnalyticsService(rollupRepository);
+        user = User.builder().email("finance@example.com").firstName("Test").lastName("User")
+                .role(User.Role.USER).build();
+        entityManager.persist(user);
+
+        Flight morning = persistFlight("VN1", "Vietnam Airlines", "SGN", "HAN", DAY.atTime(7, 0), Flight.FlightStatus.SCHEDULED);
+        Flight evening = persistFlight("VN2", "Vietnam Airlines", "SGN", "HAN", DAY.atTime(19, 0), Flight.FlightStatus.SCHEDULED);
+        Flight budget = persistFlight("VJ1", "Vietjet", "SGN", "DAD", DAY.atTime(9, 0), Flight.FlightStatus.SCHEDULED);
+        Flight cancelled = persistFlight("VJ2", "Vietjet", "SGN", "DAD", DAY.atTime(12, 0), Flight.FlightStatus.CANCELLED);
+        persistFlight("VN3", "Vietnam Airlines", "SGN", "HAN", DAY.plusDays(1).atTime(7, 0), Flight.FlightStatus.SCHEDULED);
+
+        persistBooking(morning, 2, "200.00", Booking.BookingStatus.CONFIRMED);
+        persistBooking(morning, 3, "300.00", Booking.BookingStatus.CONFIRMED);
+        persistBooking(evening, 1, "100.00", Booking.BookingStatus.CONFIRMED);
+        persistBooking(evening, 4, "400.00", Booking.BookingStatus.CANCELLED);
+        persistBooking(budget, 5, "250.00", Booking.BookingStatus.CONFIRMED);
+        persistBooking(cancelled, 1, "50.00", Booking.BookingStatus.CONFIRMED);
+
+        entityManager.flush();
+    }
+
+    @Test
+    void refreshRollups_ShouldAggregateConfirmedBookingsPerDayAirlineAndRoute() {
+        int rows = revenueAnalyticsService.refreshRollups(DAY, DAY);
+
+        List<RevenueReportDTO> byRoute = revenueAnalyticsService.getRevenueReport(RevenueReportDTO.GroupBy.ROUTE, DAY, DAY);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(byRoute).hasSize(2);
+        RevenueReportDTO sgnHan = byRoute.get(0);
+        assertThat(sgnHan.getDestination()).isEqualTo("HAN");
+        assertThat(sgnHan.getFlightsCount()).isEqualTo(2);
+        assertThat(sgnHan.getSeatsOffered()).isEqualTo(200);
+        assertThat(sgnHan.getSeatsSold()).isEqualTo(6);
+        assertThat(sgnHan.getRevenue()).isEqualByComparingTo("600.00");
+        assertThat(sgnHan.getLoadFactor()).isEqualTo(0.03);
+    }
+
+    @Test
+    void refreshRollups_ShouldReplaceRowsOfTheRefreshedDaysOnly() {
+        revenueAnalyticsService.refreshRollups(DAY, DAY.plusDays(1));
+        revenueAnalyticsService.refreshRollups(DAY, DAY);
+
+        List<RevenueReportDTO> byDay = revenueAnalyticsService.getRevenueReport(
+                RevenueReportDTO.GroupBy.DAY, DAY, DAY.plusDays(1));
+
+        assertThat(byDay).extracting(RevenueReportDTO::getDate).containsExactly(DAY, DAY.plusDays(1));
+        assertThat(byDay.get(0).getRevenue()).isEqualByComparingTo("850.00");
+    }
+
+    private Flight persistFlight(String flightNumber, String airline, String origin, String destination,
+                                 LocalDateTime departure, Flight.FlightStatus status) {
+        Flight flight = Flight.builder()
+                .flightNumber(flightNumber)
+                .airline(airline)
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(100)
+                .availableSeats(100)
+                .price(new BigDecimal("100.00"))
+                .status(status)
+                .build();
+        entityManager.persist(flight);
+        return flight;
+    }
+
+    private void persistBooking(Flight flight, int seats, String totalPrice, Booking.BookingStatus status) {
+        entityManager.persist(Booking.builder()
+                .bookingReference("BKR" + references++)
+                .user(user)
+                .flight(flight)
+                .passengerFirstName("Test")
+                .passengerLastName("Passenger")
+                .passengerEmail("passenger@example.com")
+                .passengerPhone("0123456789")
+                .numberOfSeats(seats)
+                .totalPrice(new BigDecimal(totalPrice))
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.flightbookingsystem.booking;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements behind booking reads so lazy associations can't quietly turn them
+ * back into N+1 queries.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingFetchPlanIntegrationTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User frequentFlyer;
+    private User occasionalFlyer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        frequentFlyer = persistUser("frequent@example.com");
+        occasionalFlyer = persistUser("occasional@example.com");
+
+        // Every booking is on a different flight, so a lazy flight load would show up per row.
+        for (int i = 0; i < 12; i++) {
+            persistBooking(frequentFlyer, persistFlight("FF" + i), "BKF" + i);
+        }
+        persistBooking(occasionalFlyer, persistFlight("OC0"), "BKO0");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByUserId_ShouldLoadFlightsInTheSameStatement() {
+        long occasional = statementsFor(() -> flightNumbers(bookingRepository.findByUserId(occasionalFlyer.getId())));
+        long frequent = statementsFor(() -> flightNumbers(bookingRepository.findByUserId(frequentFlyer.getId())));
+
+        assertThat(occasional).isEqualTo(1);
+        assertThat(frequent).isEqualTo(occasional);
+    }
+
+    @Test
+    void findByFlightId_ShouldLoadFlightInTheSameStatement() {
+        Long flightId = bookingRepository.findDtoByBookingReference("BKF3").orElseThrow().getFlightId();
+        entityManager.clear();
+
+        assertThat(statementsFor(() -> flightNumbers(bookingRepository.findByFlightId(flightId)))).isEqualTo(1);
+    }
+
+    @Test
+    void findByBookingReference_ShouldLoadFlightInTheSameStatement() {
+        long statements = statementsFor(() -> bookingRepository.findByBookingReference("BKF7")
+                .map(booking -> booking.getFlight().getFlightNumber() + booking.getUser().getId())
+                .orElseThrow());
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findDtosByUserId_ShouldIssueContentAndCountQueryPerPage() {
+        PageRequest firstPage = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        AtomicReference<Page<BookingDTO>> page = new AtomicReference<>();
+        long statements = statementsFor(() -> page.set(bookingRepository.findDtosByUserId(frequentFlyer.getId(), firstPage)));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(page.get().getContent()).hasSize(5);
+        assertThat(page.get().getTotalElements()).isEqualTo(12);
+        assertThat(page.get().getContent()).allSatisfy(booking -> assertThat(booking.getFlightNumber()).startsWith("FF"));
+    }
+
+    private long statementsFor(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<String> flightNumbers(List<Booking> bookings) {
+        return bookings.stream()
+                .map(booking -> booking.getFlight().getFlightNumber() + booking.getUser().getId())
+                .toList();
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .email(email)
+                .firstName("Test")
+                .lastName("User")
+                .role(User.Role.USER)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Flight persistFlight(String flightNumber) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        Flight flight = Flight.builder()
+                .flightNumber(flightNumber)
+                .airline("Vietnam Airlines")
+                .origin("SGN")
+                .destination("HAN")
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(200)
+                .availableSeats(150)
+                .price(new BigDecimal("1500000"))
+                .status(Flight.FlightStatus.SCHEDULED)
+                .build();
+        entityManager.persist(flight);
+        return flight;
+    }
+
+    private void persistBooking(User user, Flight flight, String reference) {
+        entityManager.persist(Booking.builder()
+                .bookingReference(reference)
+                .user(user)
+                .flight(flight)
+                .passengerFirstName("Test")
+                .passengerLastName("Passenger")
+                .passengerEmail("passenger@example.com")
+                .passengerPhone("0123456789")
+                .numberOfSeats(1)
+                .totalPrice(new BigDecimal("1500000"))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.flightbookingsystem.booking;
+
+import com.example.flightbookingsystem.model.BookingReference;
+import com.example.flightbookingsystem.service.BookingPartitionMaintenance;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class BookingPartitioningIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static BookingPartitionMaintenance maintenance;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        maintenance = new BookingPartitionMaintenance(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 6);
+    }
+
+    private long insertFlight(String flightNumber, LocalDateTime departure) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO flights (flight_number, airline, origin, destination, departure_time, arrival_time,
+                                     total_seats, available_seats, price, status, created_at, updated_at)
+                VALUES (?, 'Vietnam Airlines', 'SGN', 'HAN', ?, ?, 200, 199, 1500000, 'SCHEDULED', now(), now())
+                RETURNING id""", Long.class, flightNumber, Timestamp.valueOf(departure),
+                Timestamp.valueOf(departure.plusHours(2)));
+    }
+
+    private void insertBooking(String reference, long flightId, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO bookings (booking_reference, user_id, flight_id, passenger_first_name, passenger_last_name,
+                                      passenger_email, passenger_phone, number_of_seats, total_price, status,
+                                      created_at, updated_at)
+                VALUES (?, (SELECT MIN(id) FROM users), ?, 'Test', 'Passenger', 'passenger@example.com', '0123456789',
+                        1, 1500000, 'CONFIRMED', ?, ?)""",
+                reference, flightId, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    @Test
+    void referenceLookup_ShouldOnlyScanPartitionsAroundTheReferenceTime() {
+        maintenance.createFuturePartitions(YearMonth.now().minusMonths(6));
+        String reference = BookingReference.generate();
+        insertBooking(reference, insertFlight("PR1", LocalDateTime.now().plusDays(5)), LocalDateTime.now());
+        BookingReference.CreationWindow window = BookingReference.creationWindow(reference).orElseThrow();
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM bookings WHERE booking_reference = ? AND created_at BETWEEN ? AND ?",
+                String.class, reference, Timestamp.valueOf(window.from()), Timestamp.valueOf(window.to())));
+
+        assertThat(plan).contains(BookingPartitionMaintenance.partitionName(YearMonth.now()));
+        assertThat(plan).doesNotContain(BookingPartitionMaintenance.partitionName(YearMonth.now().minusMonths(3)));
+        assertThat(plan).doesNotContain("bookings_default");
+    }
+
+    @Test
+    void maintenance_ShouldArchiveOnlyPartitionsWhoseFlightsHaveDeparted() {
+        YearMonth departedMonth = YearMonth.now().minusMonths(4);
+        YearMonth pendingMonth = YearMonth.now().minusMonths(5);
+        maintenance.createFuturePartitions(YearMonth.now().minusMonths(6));
+
+        insertBooking("BKARCHIVED", insertFlight("AR1", departedMonth.atDay(20).atTime(9, 0)),
+                departedMonth.atDay(2).atTime(9, 0));
+        // Booked five months ago for a flight that has not left yet: must stay hot
+        insertBooking("BKPENDING", insertFlight("AR2", LocalDateTime.now().plusDays(3)),
+                pendingMonth.atDay(2).atTime(9, 0));
+
+        maintenance.archiveDepartedPartitions(LocalDateTime.now());
+
+        List<String> hot = jdbcTemplate.queryForList("SELECT booking_reference FROM bookings", String.class);
+        List<String> archived = jdbcTemplate.queryForList("SELECT booking_reference FROM bookings_archive", String.class);
+        assertThat(hot).contains("BKPENDING").doesNotContain("BKARCHIVED");
+        assertThat(archived).contains("BKARCHIVED").doesNotContain("BKPENDING");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'bookings_archive'::regclass", Long.class,
+                BookingPartitionMaintenance.partitionName(departedMonth))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.flightbookingsystem.booking;
+
+import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sequence ids let Hibernate group inserts into JDBC batches; with identity columns every row
+ * would be its own statement.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + InsertBatchingIntegrationTest.BATCH_SIZE
+})
+class InsertBatchingIntegrationTest {
+    static final int BATCH_SIZE = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void bulkFlightInsert_ShouldBeSentInBatches() {
+        int flights = 45;
+
+        statistics.clear();
+        for (int i = 0; i < flights; i++) {
+            entityManager.persist(flight("BF" + i));
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(flights);
+        // One sequence call covers the whole allocation block of 50
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(Math.ceilDiv(flights, BATCH_SIZE) + 1);
+    }
+
+    @Test
+    void bulkBookingInsert_ShouldBeSentInBatches() {
+        User user = User.builder()
+                .email("batch@example.com")
+                .firstName("Batch")
+                .lastName("User")
+                .role(User.Role.USER)
+                .build();
+        Flight flight = flight("BB1");
+        entityManager.persist(user);
+        entityManager.persist(flight);
+        entityManager.flush();
+
+        int bookings = 30;
+        statistics.clear();
+        for (int i = 0; i < bookings; i++) {
+            entityManager.persist(Booking.builder()
+                    .bookingReference("BKB" + i)
+                    .user(user)
+                    .flight(flight)
+                    .passengerFirstName("Test")
+                    .passengerLastName("Passenger")
+                    .passengerEmail("passenger@example.com")
+                    .passengerPhone("0123456789")
+                    .numberOfSeats(1)
+                    .totalPrice(new BigDecimal("1500000"))
+                    .status(Booking.BookingStatus.CONFIRMED)
+                    .build());
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(bookings);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(Math.ceilDiv(bookings, BATCH_SIZE) + 1);
+    }
+
+    private static Flight flight(String flightNumber) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        return Flight.builder()
+                .flightNumber(flightNumber)
+                .airline("Vietnam Airlines")
+                .origin("SGN")
+                .destination("HAN")
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(200)
+                .availableSeats(150)
+                .price(new BigDecimal("1500000"))
+                .status(Flight.FlightStatus.SCHEDULED)
+                .build();
+    }
+}
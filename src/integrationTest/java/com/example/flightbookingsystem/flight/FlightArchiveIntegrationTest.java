@@ -0,0 +1,191 @@
+package com.example.flightbookingsystem.flight;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.repository.BookingArchiveRepository;
+import com.example.flightbookingsystem.repository.DailyRevenueRollupRepository;
+import com.example.flightbookingsystem.service.BookingPartitionMaintenance;
+import com.example.flightbookingsystem.service.FlightArchiver;
+import com.example.flightbookingsystem.service.FlightCacheEvictor;
+import com.example.flightbookingsystem.service.FlightSuggestionIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Testcontainers
+class FlightArchiveIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private FlightCacheEvictor flightCacheEvictor;
+    private FlightSuggestionIndex flightSuggestionIndex;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM bookings_archive");
+        jdbcTemplate.update("DELETE FROM flights_archive");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM flights");
+        flightCacheEvictor = mock(FlightCacheEvictor.class);
+        flightSuggestionIndex = mock(FlightSuggestionIndex.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private FlightArchiver archiver(int batchSize) {
+        return new FlightArchiver(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                flightCacheEvictor, flightSuggestionIndex, meterRegistry, 90, batchSize);
+    }
+
+    private long insertFlight(String flightNumber, LocalDateTime departure, String status) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO flights (flight_number, airline, origin, destination, departure_time, arrival_time,
+                                     total_seats, available_seats, price, status, created_at, updated_at)
+                VALUES (?, 'Vietnam Airlines', 'SGN', 'HAN', ?, ?, 200, 199, 1500000, ?, now(), now())
+                RETURNING id""", Long.class, flightNumber, Timestamp.valueOf(departure),
+                Timestamp.valueOf(departure.plusHours(2)), status);
+    }
+
+    private void insertBooking(String reference, long flightId) {
+        insertBooking(reference, flightId, NOW);
+    }
+
+    private void insertBooking(String reference, long flightId, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO bookings (booking_reference, user_id, flight_id, passenger_first_name, passenger_last_name,
+                                      passenger_email, passenger_phone, number_of_seats, total_price, status,
+                                      created_at, updated_at, assigned_seats)
+                VALUES (?, (SELECT MIN(id) FROM users), ?, 'Test', 'Passenger', 'passenger@example.com', '0123456789',
+                        1, 1500000, 'CONFIRMED', ?, ?, '4C')""",
+                reference, flightId, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    @Test
+    void archive_ShouldMoveOldCompletedFlightsWithTheirBookingsInBatches() {
+        insertBooking("BKOLD1", insertFlight("OLD1", NOW.minusDays(200), "COMPLETED"));
+        insertBooking("BKOLD2", insertFlight("OLD2", NOW.minusDays(120), "COMPLETED"));
+        insertFlight("OLD3", NOW.minusDays(100), "COMPLETED");
+        insertBooking("BKRECENT", insertFlight("RECENT", NOW.minusDays(10), "COMPLETED"));
+        insertBooking("BKCXL", insertFlight("CXL", NOW.minusDays(200), "CANCELLED"));
+
+        FlightArchiver.Result result = archiver(2).archive(NOW.minusDays(90));
+
+        assertThat(result.flights()).isEqualTo(3);
+        assertThat(result.bookings()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT flight_number FROM flights ORDER BY flight_number", String.class))
+                .containsExactly("CXL", "RECENT");
+        assertThat(jdbcTemplate.queryForList("SELECT flight_number FROM flights_archive ORDER BY flight_number", String.class))
+                .containsExactly("OLD1", "OLD2", "OLD3");
+        assertThat(jdbcTemplate.queryForList("SELECT booking_reference FROM bookings ORDER BY 1", String.class))
+                .containsExactly("BKCXL", "BKRECENT");
+        assertThat(meterRegistry.counter("archive.flights.moved").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("archive.batch.duration").count()).isEqualTo(2);
+        verify(flightCacheEvictor).evictFlight(anyLong(), eq("OLD1"));
+        verify(flightSuggestionIndex).rebuild();
+    }
+
+    @Test
+    void archivedBookings_ShouldStillBeFoundByReference() {
+        insertBooking("BKOLD1", insertFlight("OLD1", NOW.minusDays(200), "COMPLETED"));
+        archiver(100).archive(NOW.minusDays(90));
+
+        BookingDTO booking = new BookingArchiveRepository(jdbcTemplate, true).findDtoByBookingReference("BKOLD1")
+                .orElseThrow();
+
+        assertThat(booking.getFlightNumber()).isEqualTo("OLD1");
+        assertThat(booking.getAssignedSeats()).isEqualTo("4C");
+        assertThat(new BookingArchiveRepository(jdbcTemplate, true).findDtoByBookingReference("BKMISSING")).isEmpty();
+    }
+
+    @Test
+    void archive_ShouldDoNothingWhenNoFlightIsDue() {
+        insertFlight("RECENT", NOW.minusDays(10), "COMPLETED");
+
+        assertThat(archiver(10).archive(NOW.minusDays(90))).isEqualTo(new FlightArchiver.Result(0, 0));
+        verifyNoInteractions(flightSuggestionIndex);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM flights", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void partitionMaintenance_ShouldArchiveMonthAfterArchiverMovedSomeOfItsBookings() {
+        YearMonth month = YearMonth.now().minusMonths(5);
+        BookingPartitionMaintenance maintenance = new BookingPartitionMaintenance(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 6);
+        maintenance.createFuturePartitions(month.minusMonths(1));
+
+        // The completed flight goes to the archive first, its booking to bookings_archive_default
+        insertBooking("BKEARLY", insertFlight("EARLY", month.atDay(20).atTime(9, 0), "COMPLETED"),
+                month.atDay(2).atTime(9, 0));
+        insertBooking("BKLATE", insertFlight("LATE", month.atDay(25).atTime(9, 0), "SCHEDULED"),
+                month.atDay(3).atTime(9, 0));
+        archiver(100).archive(NOW.minusDays(90));
+
+        assertThat(maintenance.archiveDepartedPartitions(NOW)).isGreaterThanOrEqualTo(1);
+
+        String partition = BookingPartitionMaintenance.partitionName(month);
+        assertThat(jdbcTemplate.queryForList("SELECT booking_reference FROM " + partition + " ORDER BY 1", String.class))
+                .containsExactly("BKEARLY", "BKLATE");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bookings_archive_default", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_inherits WHERE inhrelid = ?::regclass "
+                + "AND inhparent = 'bookings_archive'::regclass", Long.class, partition)).isEqualTo(1);
+    }
+
+    @Test
+    void revenueRollups_ShouldStillCountArchivedFlightsAndBookings() {
+        LocalDateTime departure = NOW.minusDays(200).withHour(9);
+        insertBooking("BKOLD1", insertFlight("OLD1", departure, "COMPLETED"));
+        archiver(100).archive(NOW.minusDays(90));
+        jdbcTemplate.update("DELETE FROM daily_revenue_rollups");
+
+        MapSqlParameterSource range = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(departure.toLocalDate().atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(departure.toLocalDate().plusDays(1).atStartOfDay()));
+        int rows = new NamedParameterJdbcTemplate(jdbcTemplate)
+                .update(DailyRevenueRollupRepository.INSERT_ROLLUPS_WITH_ARCHIVE, range);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap("SELECT flights_count, seats_sold, revenue FROM daily_revenue_rollups"))
+                .containsEntry("flights_count", 1)
+                .containsEntry("seats_sold", 1L)
+                .hasEntrySatisfying("revenue", revenue -> assertThat(revenue.toString()).isEqualTo("1500000.00"));
+    }
+}
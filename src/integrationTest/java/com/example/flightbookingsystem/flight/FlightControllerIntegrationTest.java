@@ -18,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -80,6 +81,43 @@ class FlightControllerIntegrationTest {
                 .andExpect(jsonPath("$.flightNumber").value("VN123"));
     }
 
+    @Test
+    void getFlightById_ShouldReturn304_WhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/flights/{id}", testFlight.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().string("ETag", startsWith("W/\"flight-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/flights/{id}", testFlight.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void searchFlightsByQuery_ShouldBeCacheableAndRevalidate() throws Exception {
+        String departure = LocalDateTime.now().toString();
+        String etag = mockMvc.perform(get("/api/v1/flights/search")
+                        .param("origin", "SGN")
+                        .param("destination", "HAN")
+                        .param("departureTime", departure)
+                        .param("seats", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].flightNumber").value("VN123"))
+                .andExpect(header().string("Cache-Control", "max-age=30, public, stale-while-revalidate=30"))
+                .andExpect(header().string("ETag", startsWith("W/\"search-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/flights/search")
+                        .param("origin", "SGN")
+                        .param("destination", "HAN")
+                        .param("departureTime", departure)
+                        .param("seats", "2")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void searchFlights_ShouldReturnFlightList() throws Exception {
         String requestBody = """
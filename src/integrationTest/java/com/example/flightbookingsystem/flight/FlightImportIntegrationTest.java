@@ -0,0 +1,157 @@
+package com.example.flightbookingsystem.flight;
+
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.dto.FlightImportResultDTO;
+import com.example.flightbookingsystem.event.FlightsImportedEvent;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.service.FlightImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers
+class FlightImportIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private FlightImportService flightImportService;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        // One shared connection, like the transaction-bound connection in the application;
+        // the staging table is temporary and only visible to it.
+        dataSource = new SingleConnectionDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+        dataSource.setAutoCommit(true);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM flights");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        flightImportService = new FlightImportService(jdbcTemplate, new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher);
+    }
+
+    private FlightImportResultDTO importFlights(String body, ExportFormat format) {
+        return transactionTemplate.execute(status -> flightImportService.importFlights(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format));
+    }
+
+    private static String csvRow(String flightNumber, String airline, int daysAhead, String price) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(daysAhead).withNano(0);
+        return String.join(",", flightNumber, airline, "SGN", "HAN", departure.toString(),
+                departure.plusHours(2).toString(), "180", "180", price) + "\n";
+    }
+
+    @Test
+    void importFlights_ShouldCopyValidRowsAndReportRejectedOnes() {
+        String csv = "flightNumber,airline,origin,destination,departureTime,arrivalTime,totalSeats,availableSeats,price\n"
+                + csvRow("IM1", "\"Air, Quoted\"", 10, "1200000")
+                + csvRow("IM2", "Bamboo Airways", 11, "900000")
+                + csvRow("IM3", "Bamboo Airways", -1, "900000")
+                + csvRow("IM4", "Bamboo Airways", 12, "not-a-price")
+                + csvRow("IM2", "Bamboo Airways", 11, "950000");
+
+        FlightImportResultDTO result = importFlights(csv, ExportFormat.CSV);
+
+        assertThat(result.getRowsRead()).isEqualTo(5);
+        assertThat(result.getRowsRejected()).isEqualTo(2);
+        assertThat(result.getFlightsUpserted()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(2).allSatisfy(error -> assertThat(error).startsWith("row "));
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT airline FROM flights WHERE flight_number = 'IM1'", String.class))
+                .isEqualTo("Air, Quoted");
+        assertThat(jdbcTemplate.queryForObject("SELECT price FROM flights WHERE flight_number = 'IM2'", String.class))
+                .isEqualTo("950000.00");
+        verify(eventPublisher).publishEvent(any(FlightsImportedEvent.class));
+    }
+
+    @Test
+    void importFlights_ShouldRejectRowWithMoreAvailableThanTotalSeats() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(10).withNano(0);
+        String csv = "flightNumber,airline,origin,destination,departureTime,arrivalTime,totalSeats,availableSeats,price\n"
+                + csvRow("IM1", "Bamboo Airways", 10, "1200000")
+                + String.join(",", "IM5", "Bamboo Airways", "SGN", "HAN", departure.toString(),
+                        departure.plusHours(2).toString(), "180", "181", "1200000") + "\n";
+
+        FlightImportResultDTO result = importFlights(csv, ExportFormat.CSV);
+
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(result.getFlightsUpserted()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly("row 3: availableSeats must not exceed totalSeats");
+        assertThat(jdbcTemplate.queryForList("SELECT flight_number FROM flights", String.class)).containsExactly("IM1");
+    }
+
+    @Test
+    void importFlights_ShouldUpdateScheduleButKeepSeatCountsOfExistingFlights() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(20).withNano(0);
+        String ndjson = "{\"flightNumber\":\"NJ1\",\"airline\":\"Vietnam Airlines\",\"origin\":\"SGN\",\"destination\":\"DAD\","
+                + "\"departureTime\":\"" + departure + "\",\"arrivalTime\":\"" + departure.plusHours(1) + "\","
+                + "\"totalSeats\":200,\"availableSeats\":200,\"price\":1000000}\n";
+        importFlights(ndjson, ExportFormat.NDJSON);
+        jdbcTemplate.update("UPDATE flights SET available_seats = 150 WHERE flight_number = 'NJ1'");
+
+        FlightImportResultDTO result = importFlights(ndjson.replace("1000000", "1100000") + "{not json}\n",
+                ExportFormat.NDJSON);
+
+        Map<String, Object> flight = jdbcTemplate.queryForMap(
+                "SELECT price, available_seats, status FROM flights WHERE flight_number = 'NJ1'");
+        assertThat(result.getFlightsUpserted()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(flight.get("price").toString()).isEqualTo("1100000.00");
+        assertThat(flight.get("available_seats")).isEqualTo(150);
+        assertThat(flight.get("status")).isEqualTo("SCHEDULED");
+    }
+
+    @Test
+    void importFlights_ShouldFailOnCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importFlights("flightNumber,airline\nIM9,Bamboo\n", ExportFormat.CSV))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("departureTime");
+    }
+}
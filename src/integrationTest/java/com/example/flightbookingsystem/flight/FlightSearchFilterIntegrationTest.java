@@ -0,0 +1,149 @@
+package com.example.flightbookingsystem.flight;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the optional search filters against PostgreSQL, where the time-of-day windows compile to
+ * a cast of the timestamp columns.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:tc:postgresql:15-alpine:///flightsearch",
+        "spring.datasource.driver-class-name=org.testcontainers.jdbc.ContainerDatabaseDriver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FlightSearchFilterIntegrationTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().plusDays(1).atStartOfDay();
+
+        // Durations: NOON 1h30, EARLY 2h, LATE 2h30, REDEYE 4h
+        persistFlight("EARLY", "Vietnam Airlines", day.plusHours(6), day.plusHours(8), "1000000");
+        persistFlight("NOON", "Bamboo Airways", day.plusHours(12), day.plusHours(13).plusMinutes(30), "2000000");
+        persistFlight("LATE", "Vietjet Air", day.plusHours(23), day.plusHours(25).plusMinutes(30), "3000000");
+        persistFlight("REDEYE", "Vietnam Airlines", day.plusHours(25), day.plusHours(29), "1500000");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_ShouldMatchDepartureWindow() {
+        List<String> found = search(FlightSearchRequest.builder()
+                .departureFrom(LocalTime.of(5, 0)).departureTo(LocalTime.of(13, 0)));
+
+        assertThat(found).containsExactly("EARLY", "NOON");
+    }
+
+    @Test
+    void search_ShouldMatchDepartureWindowWrappingPastMidnight() {
+        List<String> found = search(FlightSearchRequest.builder()
+                .departureFrom(LocalTime.of(22, 0)).departureTo(LocalTime.of(2, 0)));
+
+        assertThat(found).containsExactly("LATE", "REDEYE");
+    }
+
+    @Test
+    void search_ShouldMatchArrivalWindowWrappingPastMidnight() {
+        List<String> found = search(FlightSearchRequest.builder()
+                .arrivalFrom(LocalTime.of(23, 0)).arrivalTo(LocalTime.of(2, 0)));
+
+        assertThat(found).containsExactly("LATE");
+    }
+
+    @Test
+    void search_ShouldApplyOpenEndedTimeBounds() {
+        assertThat(search(FlightSearchRequest.builder().departureFrom(LocalTime.of(12, 0))))
+                .containsExactly("NOON", "LATE");
+        assertThat(search(FlightSearchRequest.builder().arrivalTo(LocalTime.of(8, 0))))
+                .containsExactly("EARLY", "LATE", "REDEYE");
+    }
+
+    @Test
+    void search_ShouldApplyInclusivePriceBounds() {
+        List<String> found = search(FlightSearchRequest.builder()
+                .minPrice(new BigDecimal("1500000")).maxPrice(new BigDecimal("2000000")));
+
+        assertThat(found).containsExactly("NOON", "REDEYE");
+    }
+
+    @Test
+    void search_ShouldMatchAirlineIgnoringCase() {
+        List<String> found = search(FlightSearchRequest.builder().airline(" VIETNAM airlines"));
+
+        assertThat(found).containsExactly("EARLY", "REDEYE");
+    }
+
+    @Test
+    void search_ShouldSortByDuration() {
+        assertThat(search(FlightSearchRequest.builder().sortBy(FlightSearchRequest.SortBy.DURATION)))
+                .containsExactly("NOON", "EARLY", "LATE", "REDEYE");
+        assertThat(search(FlightSearchRequest.builder().sortBy(FlightSearchRequest.SortBy.DURATION)
+                .sortDirection(Sort.Direction.DESC)))
+                .containsExactly("REDEYE", "LATE", "EARLY", "NOON");
+    }
+
+    @Test
+    void search_ShouldStopAtLimit() {
+        List<String> found = search(FlightSearchRequest.builder()
+                .sortBy(FlightSearchRequest.SortBy.PRICE).limit(2));
+
+        assertThat(found).containsExactly("EARLY", "REDEYE");
+    }
+
+    private List<String> search(FlightSearchRequest.FlightSearchRequestBuilder request) {
+        FlightSearchRequest normalized = request
+                .origin("SGN").destination("HAN")
+                .departureTime(day).seats(1)
+                .build()
+                .normalized();
+        return flightRepository.searchAvailableFlights(normalized).stream()
+                .map(FlightDTO::getFlightNumber)
+                .toList();
+    }
+
+    private void persistFlight(String flightNumber, String airline, LocalDateTime departure,
+                               LocalDateTime arrival, String price) {
+        entityManager.persist(Flight.builder()
+                .flightNumber(flightNumber)
+                .airline(airline)
+                .origin("SGN")
+                .destination("HAN")
+                .departureTime(departure)
+                .arrivalTime(arrival)
+                .totalSeats(200)
+                .availableSeats(150)
+                .price(new BigDecimal(price))
+                .status(Flight.FlightStatus.SCHEDULED)
+                .build());
+    }
+}
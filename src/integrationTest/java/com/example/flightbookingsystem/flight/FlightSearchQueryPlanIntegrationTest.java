@@ -0,0 +1,185 @@
+package com.example.flightbookingsystem.flight;
+
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.repository.FlightSearchRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import liquibase.integration.spring.SpringLiquibase;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the query plan of the public flight search. The SQL and binds that
+ * {@link FlightSearchRepositoryImpl} actually sends are captured and explained as a prepared
+ * statement under {@code plan_cache_mode = force_generic_plan}, which is the plan pgjdbc ends up
+ * with once it switches to server-side prepared statements.
+ */
+@Testcontainers
+class FlightSearchQueryPlanIntegrationTest {
+
+    private static final String SEARCH_INDEX = "idx_flights_search_scheduled";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final AtomicReference<QueryInfo> lastQuery = new AtomicReference<>();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 100 routes, one flight in four still scheduled: a realistic mix where only the
+        // partial index keeps the search selective.
+        jdbcTemplate.update("""
+                INSERT INTO flights (flight_number, airline, origin, destination, departure_time, arrival_time,
+                                     total_seats, available_seats, price, status, created_at, updated_at)
+                SELECT 'T' || i,
+                       'Airline ' || (i % 7),
+                       (ARRAY['SGN','HAN','DAD','CXR','PQC','HPH','VII','HUI','VCA','DLI'])[1 + i % 10],
+                       (ARRAY['BKK','SIN','KUL','ICN','NRT','HKG','TPE','MNL','CGK','PNH'])[1 + (i / 10) % 10],
+                       now() + (i || ' minutes')::interval,
+                       now() + (i || ' minutes')::interval + interval '2 hours',
+                       200,
+                       i % 200,
+                       100 + i % 900,
+                       (ARRAY['SCHEDULED','COMPLETED','CANCELLED','DELAYED'])[1 + (i / 100) % 4],
+                       now(),
+                       now()
+                FROM generate_series(1, 50000) AS i
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE flights");
+
+        DataSource capturing = ProxyDataSourceBuilder.create(dataSource)
+                .afterQuery((execInfo, queries) -> lastQuery.set(queries.get(queries.size() - 1)))
+                .build();
+        Configuration configuration = new Configuration().addAnnotatedClass(Flight.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, capturing);
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    private static FlightSearchRequest.FlightSearchRequestBuilder route() {
+        return FlightSearchRequest.builder()
+                .origin("SGN")
+                .destination("BKK")
+                .departureTime(LocalDateTime.now())
+                .seats(2);
+    }
+
+    // Runs the search through the repository, then explains exactly what it sent
+    private String explainSearch(FlightSearchRequest request) {
+        try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+            new FlightSearchRepositoryImpl(entityManager).searchAvailableFlights(request.normalized());
+        }
+        QueryInfo query = lastQuery.get();
+        List<ParameterSetOperation> binds = new ArrayList<>(query.getParametersList().get(0));
+        binds.sort(Comparator.comparingInt(bind -> (Integer) bind.getArgs()[0]));
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE search AS " + numberPlaceholders(query.getQuery()));
+                String arguments = binds.stream()
+                        .map(bind -> literal(bind.getArgs()[1]))
+                        .collect(Collectors.joining(", "));
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE search(" + arguments + ")")) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                statement.execute("DEALLOCATE search");
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + String.valueOf(value).replace("'", "''") + "'";
+    }
+
+    @Test
+    void searchAvailableFlights_ShouldUseCoveringPartialIndexWithGenericPlan() {
+        String plan = explainSearch(route().build());
+
+        // A generic plan keeps the parameters symbolic
+        assertThat(plan).contains("$1");
+        assertThat(plan).contains(SEARCH_INDEX);
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void searchAvailableFlights_ShouldKeepPartialIndexWithOptionalFiltersAndSort() {
+        String plan = explainSearch(route()
+                .airline("Airline 3")
+                .minPrice(new BigDecimal("200"))
+                .maxPrice(new BigDecimal("800"))
+                .departureFrom(LocalTime.of(6, 0))
+                .departureTo(LocalTime.of(22, 0))
+                .sortBy(FlightSearchRequest.SortBy.PRICE)
+                .limit(20)
+                .build());
+
+        assertThat(plan).contains(SEARCH_INDEX);
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+}
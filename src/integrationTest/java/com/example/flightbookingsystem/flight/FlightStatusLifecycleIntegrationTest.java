@@ -0,0 +1,113 @@
+package com.example.flightbookingsystem.flight;
+
+import com.example.flightbookingsystem.service.FlightCacheEvictor;
+import com.example.flightbookingsystem.service.FlightStatusLifecycle;
+import com.example.flightbookingsystem.service.RouteSummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Testcontainers
+class FlightStatusLifecycleIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private RouteSummaryService routeSummaryService;
+    private FlightCacheEvictor flightCacheEvictor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM flights");
+        routeSummaryService = mock(RouteSummaryService.class);
+        flightCacheEvictor = mock(FlightCacheEvictor.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private FlightStatusLifecycle lifecycle(int chunkSize) {
+        return new FlightStatusLifecycle(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                routeSummaryService, flightCacheEvictor, meterRegistry, chunkSize);
+    }
+
+    private void insertFlight(String flightNumber, String destination, LocalDateTime departure, String status) {
+        jdbcTemplate.update("""
+                INSERT INTO flights (flight_number, airline, origin, destination, departure_time, arrival_time,
+                                     total_seats, available_seats, price, status, created_at, updated_at)
+                VALUES (?, 'Vietnam Airlines', 'SGN', ?, ?, ?, 180, 180, 100, ?, now(), now())""",
+                flightNumber, destination, Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(2)), status);
+    }
+
+    private String statusOf(String flightNumber) {
+        return jdbcTemplate.queryForObject("SELECT status FROM flights WHERE flight_number = ?", String.class, flightNumber);
+    }
+
+    @Test
+    void advance_ShouldMoveFlightsThroughLifecycleInChunks() {
+        for (int i = 0; i < 7; i++) {
+            insertFlight("DEP" + i, "HAN", NOW.minusMinutes(30), "SCHEDULED");
+        }
+        insertFlight("DLY", "DAD", NOW.minusMinutes(10), "DELAYED");
+        insertFlight("LANDED", "HAN", NOW.minusHours(5), "DEPARTED");
+        insertFlight("LATER", "HAN", NOW.plusHours(1), "SCHEDULED");
+        insertFlight("CXL", "HAN", NOW.minusHours(1), "CANCELLED");
+
+        FlightStatusLifecycle.Result result = lifecycle(3).advance(NOW);
+
+        assertThat(result.departed()).isEqualTo(8);
+        assertThat(result.completed()).isEqualTo(1);
+        assertThat(statusOf("DEP0")).isEqualTo("DEPARTED");
+        assertThat(statusOf("DLY")).isEqualTo("DEPARTED");
+        assertThat(statusOf("LANDED")).isEqualTo("COMPLETED");
+        assertThat(statusOf("LATER")).isEqualTo("SCHEDULED");
+        assertThat(statusOf("CXL")).isEqualTo("CANCELLED");
+        assertThat(meterRegistry.counter("flights.status.transitions", "status", "DEPARTED").count()).isEqualTo(8);
+    }
+
+    @Test
+    void advance_ShouldEvictOnlyAffectedFlightsAndRoutes() {
+        insertFlight("DEP", "HAN", NOW.minusMinutes(30), "SCHEDULED");
+        insertFlight("LATER", "DAD", NOW.plusHours(1), "SCHEDULED");
+
+        lifecycle(500).advance(NOW);
+
+        verify(flightCacheEvictor).evictFlight(anyLong(), eq("DEP"));
+        verify(flightCacheEvictor).evictRouteSearches("SGN", "HAN");
+        verify(routeSummaryService).refreshRoute("SGN", "HAN");
+        verifyNoMoreInteractions(flightCacheEvictor, routeSummaryService);
+    }
+}
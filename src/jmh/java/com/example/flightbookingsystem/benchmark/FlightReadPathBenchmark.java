@@ -0,0 +1,118 @@
+package com.example.flightbookingsystem.benchmark;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a page of flights the way the service did before the DTO projections (load managed
+ * entities, copy them into FlightDTO, flush on commit) and through FLIGHT_DTO_SELECT. Runs on
+ * in-memory H2, so the score is the ORM overhead only, not PostgreSQL round trips.
+ * Run with {@code ./gradlew jmh}; us/op is the score, bytes/op is gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightReadPathBenchmark {
+
+    private static final String ENTITY_PAGE = "FROM Flight f WHERE f.origin = :origin ORDER BY f.id";
+    private static final String DTO_PAGE = FlightRepository.FLIGHT_DTO_SELECT
+            + "WHERE f.origin = :origin ORDER BY f.id";
+
+    // A short page, FlightSearchRequest.DEFAULT_LIMIT and the largest limit a search accepts
+    @Param({"10", "50", "100"})
+    private int flights;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Flight.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:readpath;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .buildSessionFactory();
+
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 6, 0);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < 100; i++) {
+                session.persist(Flight.builder()
+                        .flightNumber("VN" + (100 + i))
+                        .airline("Vietnam Airlines")
+                        .origin("SGN")
+                        .destination("HAN")
+                        .departureTime(departure.plusMinutes(15L * i))
+                        .arrivalTime(departure.plusMinutes(15L * i + 130))
+                        .totalSeats(180)
+                        .availableSeats(180 - i)
+                        .price(new BigDecimal("1250000.00").add(BigDecimal.valueOf(i * 1000L)))
+                        .status(Flight.FlightStatus.SCHEDULED)
+                        .createdAt(departure.minusDays(30))
+                        .updatedAt(departure.minusDays(30))
+                        .build());
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<FlightDTO> entitiesMappedToDtos() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(ENTITY_PAGE, Flight.class)
+                .setParameter("origin", "SGN")
+                .setMaxResults(flights)
+                .getResultList()
+                .stream()
+                .map(FlightReadPathBenchmark::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<FlightDTO> dtoProjection() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(DTO_PAGE, FlightDTO.class)
+                .setParameter("origin", "SGN")
+                .setMaxResults(flights)
+                .getResultList());
+    }
+
+    private static FlightDTO toDto(Flight flight) {
+        return FlightDTO.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airline(flight.getAirline())
+                .origin(flight.getOrigin())
+                .destination(flight.getDestination())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .totalSeats(flight.getTotalSeats())
+                .availableSeats(flight.getAvailableSeats())
+                .price(flight.getPrice())
+                .status(flight.getStatus().name())
+                .updatedAt(flight.getUpdatedAt())
+                .build();
+    }
+}
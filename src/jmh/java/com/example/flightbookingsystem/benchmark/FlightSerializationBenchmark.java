@@ -0,0 +1,77 @@
+package com.example.flightbookingsystem.benchmark;
+
+import com.example.flightbookingsystem.config.JacksonConfig;
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes search-sized FlightDTO lists with the application's mapper and with a plain
+ * ObjectMapper that only has the java.time module, the configuration used before Blackbird.
+ * Run with {@code ./gradlew jmh}; ns/op is the score, bytes/op is gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FlightSerializationBenchmark {
+
+    // A short page, FlightSearchRequest.DEFAULT_LIMIT and the largest limit a search accepts
+    @Param({"10", "50", "100"})
+    private int flights;
+
+    private List<FlightDTO> results;
+    private ObjectWriter tuned;
+    private ObjectWriter plain;
+
+    @Setup
+    public void setUp() {
+        TypeReference<List<FlightDTO>> type = new TypeReference<>() {
+        };
+        tuned = new JacksonConfig().objectMapper().writerFor(type);
+        plain = new ObjectMapper().findAndRegisterModules().writerFor(type);
+
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 6, 0);
+        results = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            results.add(FlightDTO.builder()
+                    .id((long) i)
+                    .flightNumber("VN" + (100 + i))
+                    .airline("Vietnam Airlines")
+                    .origin("SGN")
+                    .destination("HAN")
+                    .departureTime(departure.plusMinutes(15L * i))
+                    .arrivalTime(departure.plusMinutes(15L * i + 130))
+                    .totalSeats(180)
+                    .availableSeats(180 - i)
+                    .price(new BigDecimal("1250000.00").add(BigDecimal.valueOf(i * 1000L)))
+                    .status("SCHEDULED")
+                    .updatedAt(departure.minusDays(30))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] tunedMapper() throws Exception {
+        return tuned.writeValueAsBytes(results);
+    }
+
+    @Benchmark
+    public byte[] plainMapper() throws Exception {
+        return plain.writeValueAsBytes(results);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.flightbookingsystem.benchmark;
+
+import com.example.flightbookingsystem.config.AudienceValidator;
+import com.example.flightbookingsystem.config.Auth0SecurityConfig;
+import com.example.flightbookingsystem.config.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request authentication work of a bearer token request, minus HTTP: decoding the JWT
+ * with the production validators and converting it to an authentication, once verifying the
+ * signature every time and once through {@link CachingJwtDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JwtDecoderBenchmark {
+    private static final String ISSUER = "https://issuer.example.com/";
+    private static final String AUDIENCE = "https://flight-booking-api";
+
+    // One busy client, or many clients each reusing their own token
+    @Param({"1", "1000"})
+    private int clients;
+
+    private String[] tokens;
+    private JwtDecoder verifying;
+    private JwtDecoder caching;
+    private JwtAuthenticationConverter converter;
+
+    @Setup
+    public void setUp() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER), new AudienceValidator(AUDIENCE)));
+        verifying = decoder;
+        caching = new CachingJwtDecoder(decoder, 10_000);
+        converter = new Auth0SecurityConfig().jwtAuthenticationConverter();
+
+        RSASSASigner signer = new RSASSASigner(key);
+        Instant now = Instant.now();
+        tokens = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                    new JWTClaimsSet.Builder()
+                            .issuer(ISSUER)
+                            .audience(AUDIENCE)
+                            .subject("auth0|user-" + i)
+                            .issueTime(Date.from(now))
+                            .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                            .claim("permissions", List.of("read:bookings", "create:bookings"))
+                            .build());
+            jwt.sign(signer);
+            tokens[i] = jwt.serialize();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private int next;
+
+        String token(String[] tokens) {
+            next = next + 1 == tokens.length ? 0 : next + 1;
+            return tokens[next];
+        }
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken verifyEveryRequest(Client client) {
+        return converter.convert(verifying.decode(client.token(tokens)));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cachedVerification(Client client) {
+        return converter.convert(caching.decode(client.token(tokens)));
+    }
+}
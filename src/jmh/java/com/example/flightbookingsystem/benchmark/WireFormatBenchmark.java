@@ -0,0 +1,98 @@
+package com.example.flightbookingsystem.benchmark;
+
+import com.example.flightbookingsystem.config.JacksonConfig;
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a 100-flight search result as JSON and as CBOR, each with and without the gzip that
+ * Tomcat applies to responses above the compression threshold. The score is the server CPU per
+ * response; the payload sizes are printed once before the first iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+    private static final int FLIGHTS = 100;
+
+    private List<FlightDTO> results;
+    private ObjectWriter json;
+    private ObjectWriter cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        TypeReference<List<FlightDTO>> type = new TypeReference<>() {
+        };
+        JacksonConfig config = new JacksonConfig();
+        json = config.objectMapper().writerFor(type);
+        cbor = config.cborHttpMessageConverter().getObjectMapper().writerFor(type);
+
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 6, 0);
+        results = new ArrayList<>(FLIGHTS);
+        for (int i = 0; i < FLIGHTS; i++) {
+            results.add(FlightDTO.builder()
+                    .id((long) i)
+                    .flightNumber("VN" + (100 + i))
+                    .airline("Vietnam Airlines")
+                    .origin("SGN")
+                    .destination("HAN")
+                    .departureTime(departure.plusMinutes(15L * i))
+                    .arrivalTime(departure.plusMinutes(15L * i + 130))
+                    .totalSeats(180)
+                    .availableSeats(180 - i)
+                    .price(new BigDecimal("1250000.00").add(BigDecimal.valueOf(i * 1000L)))
+                    .status("SCHEDULED")
+                    .updatedAt(departure.minusDays(30))
+                    .build());
+        }
+
+        System.out.printf("%nPayload bytes for %d flights: json=%d json+gzip=%d cbor=%d cbor+gzip=%d%n",
+                FLIGHTS, json(), jsonGzip(), cbor(), cborGzip());
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        return json.writeValueAsBytes(results).length;
+    }
+
+    @Benchmark
+    public int jsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(results)).length;
+    }
+
+    @Benchmark
+    public int cbor() throws IOException {
+        return cbor.writeValueAsBytes(results).length;
+    }
+
+    @Benchmark
+    public int cborGzip() throws IOException {
+        return gzip(cbor.writeValueAsBytes(results)).length;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
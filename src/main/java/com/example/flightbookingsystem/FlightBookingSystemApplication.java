@@ -3,9 +3,11 @@ package com.example.flightbookingsystem;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class FlightBookingSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(FlightBookingSystemApplication.class, args);
@@ -1,5 +1,10 @@
 package com.example.flightbookingsystem.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +22,10 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -30,12 +39,24 @@ public class Auth0SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuer;
 
+    @Value("${auth0.jwks.uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}.well-known/jwks.json}")
+    private String jwkSetUri;
+
+    @Value("${auth0.jwks.file:}")
+    private String jwkSetFile;
+
+    @Value("${auth0.jwt-cache.max-entries:10000}")
+    private int jwtCacheMaxEntries;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Slow queries expose SQL text
+                        .requestMatchers("/actuator/slowqueries/**").hasAuthority("SCOPE_admin")
+
                         // Public endpoints
                         .requestMatchers(
                                 "/actuator/**",
@@ -48,12 +69,17 @@ public class Auth0SecurityConfig {
                         // Public flight search
                         .requestMatchers(
                                 "/api/v1/flights/search",
+                                "/api/v1/flights/suggest",
                                 "/api/v1/flights/{id}",
-                                "/api/v1/flights/number/**"
+                                "/api/v1/flights/{id}/seats",
+                                "/api/v1/flights/{id}/availability/stream",
+                                "/api/v1/flights/number/**",
+                                "/api/v1/routes/summary"
                         ).permitAll()
 
                         // Admin only endpoints
                         .requestMatchers("/api/v1/flights/**").hasAuthority("SCOPE_admin")
+                        .requestMatchers("/api/v1/admin/**").hasAuthority("SCOPE_admin")
 
                         // All others require authentication
                         .anyRequest().authenticated()
@@ -72,8 +98,16 @@ public class Auth0SecurityConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
-        NimbusJwtDecoder jwtDecoder = JwtDecoders.fromIssuerLocation(issuer);
+    public JwtDecoder jwtDecoder() throws MalformedURLException {
+        // Keys are cached for five minutes; the local JWKS file is only read while the issuer is down
+        JWKSource<SecurityContext> keys = FileBackedJwkSource.create(URI.create(jwkSetUri).toURL(),
+                jwkSetFile.isBlank() ? null : Path.of(jwkSetFile), Duration.ofMinutes(5));
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keys));
+        // Claims are checked by the Spring validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(processor);
 
         OAuth2TokenValidator<Jwt> audienceValidator = new AudienceValidator(audience);
         OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
@@ -82,7 +116,7 @@ public class Auth0SecurityConfig {
 
         jwtDecoder.setJwtValidator(withAudience);
 
-        return jwtDecoder;
+        return new CachingJwtDecoder(jwtDecoder, jwtCacheMaxEntries);
     }
 
     @Bean
@@ -0,0 +1,86 @@
+package com.example.flightbookingsystem.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers tokens that already passed signature and claim validation, so a client sending the
+ * same bearer token with every request pays for RSA verification once. Entries are keyed by a
+ * SHA-256 of the token, never the token itself, and are dropped when the token expires.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Jwt> verified = new ConcurrentHashMap<>();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries) {
+        this(delegate, maxEntries, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = verified.get(key);
+        if (jwt != null) {
+            if (!expired(jwt, clock.instant())) {
+                return jwt;
+            }
+            verified.remove(key, jwt);
+        }
+
+        jwt = delegate.decode(token);
+        // Tokens without exp would never leave the cache
+        if (jwt.getExpiresAt() != null && hasRoom()) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public int evictExpired() {
+        Instant now = clock.instant();
+        int before = verified.size();
+        verified.values().removeIf(jwt -> expired(jwt, now));
+        return before - verified.size();
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    // When every slot holds a live token, new ones are simply verified each time until some expire
+    private boolean hasRoom() {
+        return verified.size() < maxEntries || (evictExpired() > 0 && verified.size() < maxEntries);
+    }
+
+    private static boolean expired(Jwt jwt, Instant now) {
+        return !now.isBefore(jwt.getExpiresAt());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.flightbookingsystem.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@RequiredArgsConstructor
+public class DataSourceRoutingConfig {
+    private final DataSourceRoutingProperties routingProperties;
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, dataSourceProperties,
+                dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), null, null);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource pool = pool(replica.getName(), dataSourceProperties, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword(),
+                    replica.getMaximumPoolSize(), replica.getConnectionTimeout());
+            replicas.put(replica.getName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Defers the physical connection until the first statement, when the transaction's
+        // read-only flag is already set and the routing decision can use it.
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(routingProperties.getReadYourWritesWindow());
+    }
+
+    // Every target gets its own Hikari pool; the pool name becomes the "pool" tag on the
+    // hikaricp.* metrics, so primary and replica usage show up separately.
+    private HikariDataSource pool(String name, DataSourceProperties dataSourceProperties, String url,
+                                  String username, String password, Integer maximumPoolSize,
+                                  Duration replicaConnectionTimeout) {
+        HikariConfig config = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setPoolName(name);
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (maximumPoolSize != null) {
+            config.setMaximumPoolSize(maximumPoolSize);
+        }
+        if (replicaConnectionTimeout != null) {
+            // A replica that is down at startup must not stop the application; the health
+            // check keeps it out of rotation until it answers.
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+        }
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return new HikariDataSource(config);
+    }
+}
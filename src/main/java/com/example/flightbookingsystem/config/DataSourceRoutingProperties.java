@@ -0,0 +1,31 @@
+package com.example.flightbookingsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled;
+
+    // How long a user's reads stay on the primary after one of their own writes
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+
+        // Reads fail over to the next replica or the primary, so don't wait long for a connection
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
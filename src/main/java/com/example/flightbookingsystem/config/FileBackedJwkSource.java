@@ -0,0 +1,137 @@
+package com.example.flightbookingsystem.config;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSetCacheRefreshEvaluator;
+import com.nimbusds.jose.jwk.source.JWKSetSource;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.jwk.source.URLBasedJWKSetSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Signing keys of the issuer. The JWKS endpoint is the source of truth: the key set is cached for
+ * a limited time and refreshed ahead of expiry, and a token naming an unknown key id triggers a
+ * rate-limited refresh, so a key the issuer retires stops validating within one time-to-live.
+ *
+ * <p>Every download is written to the local file, which is only read when the endpoint can't be
+ * reached, so startup and validation survive an issuer outage with the last keys it published.
+ */
+@Slf4j
+public final class FileBackedJwkSource {
+    private static final int CONNECT_TIMEOUT_MS = 2_000;
+    private static final int READ_TIMEOUT_MS = 2_000;
+    private static final int SIZE_LIMIT_BYTES = 64 * 1024;
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private FileBackedJwkSource() {
+    }
+
+    public static JWKSource<SecurityContext> create(URL jwkSetUrl, Path file, Duration timeToLive) {
+        return create(jwkSetUrl, file, timeToLive, MIN_REFRESH_INTERVAL);
+    }
+
+    // The last tenth of the time-to-live is used to refresh ahead, and bounds how long requests
+    // wait for a refresh already in flight.
+    static JWKSource<SecurityContext> create(URL jwkSetUrl, Path file, Duration timeToLive,
+                                             Duration minRefreshInterval) {
+        long refreshMs = timeToLive.toMillis() / 10;
+        JWKSetSource<SecurityContext> download = new PersistingJwkSetSource(new URLBasedJWKSetSource<>(jwkSetUrl,
+                new DefaultResourceRetriever(CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, SIZE_LIMIT_BYTES)), file);
+        JWKSourceBuilder<SecurityContext> builder = JWKSourceBuilder.create(download)
+                .cache(timeToLive.toMillis(), refreshMs)
+                .refreshAheadCache(refreshMs, false)
+                .rateLimited(minRefreshInterval.toMillis());
+        if (file != null) {
+            builder.failover(new LastDownloadedKeys(file));
+        }
+        return builder.build();
+    }
+
+    private static final class PersistingJwkSetSource implements JWKSetSource<SecurityContext> {
+        private final JWKSetSource<SecurityContext> delegate;
+        private final Path file;
+        private volatile String written;
+
+        PersistingJwkSetSource(JWKSetSource<SecurityContext> delegate, Path file) {
+            this.delegate = delegate;
+            this.file = file;
+        }
+
+        @Override
+        public JWKSet getJWKSet(JWKSetCacheRefreshEvaluator refreshEvaluator, long currentTime,
+                                SecurityContext context) throws KeySourceException {
+            JWKSet keys = delegate.getJWKSet(refreshEvaluator, currentTime, context);
+            log.info("Loaded {} signing keys from the JWKS endpoint", keys.getKeys().size());
+            writeFile(keys.toString(true));
+            return keys;
+        }
+
+        // Written to a sibling and moved into place so a crash never leaves half a file behind
+        private void writeFile(String json) {
+            if (file == null || json.equals(written)) {
+                return;
+            }
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+                Files.writeString(temp, json, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                written = json;
+            } catch (IOException e) {
+                log.warn("Couldn't write JWK set file {}: {}", file, e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    // Consulted only when the endpoint fails; re-read whenever the file changes
+    private static final class LastDownloadedKeys implements JWKSource<SecurityContext> {
+        private final Path file;
+        private FileTime loadedVersion;
+        private JWKSet keys;
+
+        LastDownloadedKeys(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+            return jwkSelector.select(load());
+        }
+
+        private synchronized JWKSet load() throws KeySourceException {
+            try {
+                FileTime modified = Files.getLastModifiedTime(file);
+                if (!modified.equals(loadedVersion)) {
+                    keys = JWKSet.load(file.toFile());
+                    loadedVersion = modified;
+                    log.warn("JWKS endpoint unavailable, using {} signing keys from {}", keys.getKeys().size(), file);
+                }
+                return keys;
+            } catch (IOException | ParseException e) {
+                throw new KeySourceException("JWKS endpoint unavailable and no usable JWK set file at " + file, e);
+            }
+        }
+    }
+}
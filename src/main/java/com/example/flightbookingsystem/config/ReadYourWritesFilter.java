@@ -0,0 +1,60 @@
+package com.example.flightbookingsystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they changed something, so a
+ * booking they just made is visible even if the replicas are lagging. Runs after the security
+ * filter chain, which has already resolved the principal.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Duration window;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        String user = principal == null ? null : principal.getName();
+
+        ReplicaRoutingDataSource.pinToPrimary(user != null && wroteRecently(user));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.pinToPrimary(false);
+            if (user != null && MUTATING_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+                lastWriteByUser.put(user, System.nanoTime());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        lastWriteByUser.values().removeIf(this::expired);
+    }
+
+    private boolean wroteRecently(String user) {
+        Long lastWrite = lastWriteByUser.get(user);
+        return lastWrite != null && !expired(lastWrite);
+    }
+
+    private boolean expired(long lastWrite) {
+        return System.nanoTime() - lastWrite > window.toNanos();
+    }
+}
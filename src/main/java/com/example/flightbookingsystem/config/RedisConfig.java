@@ -3,12 +3,12 @@ package com.example.flightbookingsystem.config;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -16,6 +16,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -24,7 +25,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
-@EnableCaching
+// Run the cache advice outside the transaction advice so cache hits never open a transaction
+// or borrow a connection, and evictions happen after commit.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class RedisConfig {
 
     @Value("${spring.data.redis.host}")
@@ -42,29 +45,12 @@ public class RedisConfig {
     }
 
     @Bean
-    public ObjectMapper redisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-
-        // Enable polymorphic type handling
-        mapper.activateDefaultTyping(
-                BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-
-        return mapper;
-    }
-
-    @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       ObjectMapper objectMapper) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(redisObjectMapper());
+        GenericJackson2JsonRedisSerializer serializer = jsonSerializer(objectMapper);
 
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(serializer);
@@ -76,9 +62,8 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(redisObjectMapper());
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        GenericJackson2JsonRedisSerializer serializer = jsonSerializer(objectMapper);
 
         // Default cache configuration
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
@@ -106,14 +91,38 @@ public class RedisConfig {
         // User bookings cache - 30 minutes TTL
         cacheConfigurations.put("userBookings", defaultConfig.entryTtl(Duration.ofMinutes(30)));
 
+        // Seat maps change with every booking - 5 minutes TTL
+        cacheConfigurations.put("seatMaps", defaultConfig.entryTtl(Duration.ofMinutes(5)));
+
         // Users cache - 4 hours TTL
         cacheConfigurations.put("users", defaultConfig.entryTtl(Duration.ofHours(4)));
 
+        // Pre-serialized HTTP responses hold raw byte arrays, which JSON would inflate as base64
+        RedisCacheConfiguration responseConfig = defaultConfig
+                .entryTtl(Duration.ofMinutes(10))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new JdkSerializationRedisSerializer(getClass().getClassLoader())));
+        cacheConfigurations.put(ResponseCacheFilter.FLIGHT_RESPONSES, responseConfig);
+        cacheConfigurations.put(ResponseCacheFilter.SEARCH_RESPONSES, responseConfig);
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .transactionAware()
                 .build();
     }
-}
 
+    // Same modules and features as the MVC mapper, plus the type information the cached values
+    // need to be read back as the right class
+    private static GenericJackson2JsonRedisSerializer jsonSerializer(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfBaseType(Object.class)
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+}
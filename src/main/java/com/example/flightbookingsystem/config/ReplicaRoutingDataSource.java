@@ -0,0 +1,170 @@
+package com.example.flightbookingsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in round-robin order and everything else to the
+ * primary. Must sit behind a {@code LazyConnectionDataSourceProxy} so the read-only flag of the
+ * transaction is known when the physical connection is fetched.
+ *
+ * <p>A replica that fails to hand out a connection is taken out of rotation at once and the read
+ * moves on to the next replica or the primary. The periodic health check probes replicas on their
+ * own threads and waits at most {@link #PROBE_TIMEOUT}, so a replica that hangs never holds up the
+ * shared scheduler.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+
+    static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Future<Boolean>> probes = new ConcurrentHashMap<>();
+    private final ExecutorService probeExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaNames = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static void pinToPrimary(boolean pinned) {
+        if (pinned) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        } else {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PINNED_TO_PRIMARY.get() != null) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicaNames.size(); attempt++) {
+            String name = replicaNames.get(Math.floorMod(nextReplica.getAndIncrement(), replicaNames.size()));
+            if (!unhealthyReplicas.contains(name)) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        while (!PRIMARY.equals(key)) {
+            String name = (String) key;
+            try {
+                return source.connect(replicas.get(name));
+            } catch (SQLException e) {
+                markHealthy(name, false);
+                key = determineCurrentLookupKey();
+            }
+        }
+        return source.connect(primary);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:10000}")
+    public void checkReplicas() {
+        long deadline = System.nanoTime() + PROBE_TIMEOUT.toNanos();
+        // A probe still waiting from the previous round is awaited again rather than duplicated
+        Map<String, Future<Boolean>> round = new LinkedHashMap<>();
+        replicas.forEach((name, replica) -> round.put(name, probes.compute(name, (key, previous) ->
+                previous != null && !previous.isDone() ? previous : probeExecutor.submit(() -> isValid(replica)))));
+        round.forEach((name, probe) -> markHealthy(name, await(probe, deadline)));
+    }
+
+    private void markHealthy(String name, boolean healthy) {
+        if (healthy && unhealthyReplicas.remove(name)) {
+            log.info("Replica {} is healthy again, routing reads to it", name);
+        } else if (!healthy && unhealthyReplicas.add(name)) {
+            log.warn("Replica {} is unavailable, routing its reads elsewhere", name);
+        }
+    }
+
+    private static boolean await(Future<Boolean> probe, long deadline) {
+        try {
+            return probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        probeExecutor.shutdownNow();
+        for (DataSource replica : replicas.values()) {
+            closeIfPossible(replica);
+        }
+        closeIfPossible(primary);
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
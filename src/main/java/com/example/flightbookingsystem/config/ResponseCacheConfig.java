@@ -0,0 +1,21 @@
+package com.example.flightbookingsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.http.response-cache", name = "enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    // Bodies below Tomcat's own compression threshold are stored and served uncompressed
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(
+            CacheManager cacheManager,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize) {
+        return new ResponseCacheFilter(cacheManager, (int) minCompressSize.toBytes());
+    }
+}
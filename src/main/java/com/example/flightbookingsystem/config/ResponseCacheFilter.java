@@ -0,0 +1,184 @@
+package com.example.flightbookingsystem.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves flight details and public search results from pre-serialized bytes.
+ *
+ * <p>On a miss the request runs through Spring MVC as usual and the JSON it produced is stored
+ * together with gzip and brotli variants. Hits skip the controller, Jackson and Tomcat's
+ * compression entirely and write the variant the client accepts. The flightResponses and
+ * searchResponses caches are evicted alongside flights and flightSearches.
+ */
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    public static final String FLIGHT_RESPONSES = "flightResponses";
+    public static final String SEARCH_RESPONSES = "searchResponses";
+
+    private static final Pattern FLIGHT_PATH = Pattern.compile("/api/v1/flights/\\d+");
+    private static final String SEARCH_PATH = "/api/v1/flights/search";
+    private static final String CBOR_TYPE = "application/cbor";
+    private static final int BROTLI_QUALITY = 9;
+
+    private final CacheManager cacheManager;
+    private final int minCompressSize;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || cacheName(request.getRequestURI()) == null
+                || binaryRequested(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String key = cacheKey(request, path);
+        Cache cache = key == null ? null : cacheManager.getCache(cacheName(path));
+        if (cache == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())) {
+            cache.put(key, capture(wrapper));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private CachedResponse capture(ContentCachingResponseWrapper wrapper) throws IOException {
+        byte[] body = wrapper.getContentAsByteArray();
+        boolean compress = body.length >= minCompressSize;
+        HttpHeaders headers = new HttpHeaders();
+        String lastModified = wrapper.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return new CachedResponse(
+                wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.ETAG),
+                headers.getLastModified(),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                body,
+                compress ? gzip(body) : null,
+                compress ? brotli(body) : null);
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (cached.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        }
+        if (cached.etag() != null
+                && new ServletWebRequest(request, response).checkNotModified(cached.etag(), cached.lastModified())) {
+            return;
+        }
+
+        String accepted = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = cached.identity();
+        if (cached.brotli() != null && accepts(accepted, "br")) {
+            body = cached.brotli();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+        } else if (cached.gzip() != null && accepts(accepted, "gzip")) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static String cacheName(String path) {
+        if (SEARCH_PATH.equals(path)) {
+            return SEARCH_RESPONSES;
+        }
+        return FLIGHT_PATH.matcher(path).matches() ? FLIGHT_RESPONSES : null;
+    }
+
+    // Search keys start with origin and destination like the flightSearches keys, so
+    // FlightCacheEvictor can drop a single route.
+    static String cacheKey(HttpServletRequest request, String path) {
+        if (FLIGHT_PATH.matcher(path).matches()) {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+        String origin = request.getParameter("origin");
+        String destination = request.getParameter("destination");
+        if (origin == null || destination == null) {
+            return null;
+        }
+        return origin.trim().toUpperCase(Locale.ROOT) + ":" + destination.trim().toUpperCase(Locale.ROOT) + ":"
+                + request.getQueryString();
+    }
+
+    // Only JSON is stored; clients asking for CBOR always go through Spring MVC
+    static boolean binaryRequested(String accept) {
+        return accept != null && accept.toLowerCase(Locale.ROOT).contains(CBOR_TYPE);
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equalsIgnoreCase(coding)) {
+                return tokens.length == 1 || !tokens[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // The native encoder is only bundled for Linux; elsewhere clients fall back to gzip.
+    private static byte[] brotli(byte[] body) throws IOException {
+        if (!Brotli4jLoader.isAvailable()) {
+            return null;
+        }
+        return Encoder.compress(body, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+    }
+
+    public record CachedResponse(String contentType, String etag, long lastModified, String cacheControl,
+                                 byte[] identity, byte[] gzip, byte[] brotli) implements Serializable {
+    }
+}
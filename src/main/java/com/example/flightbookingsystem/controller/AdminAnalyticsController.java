@@ -0,0 +1,41 @@
+package com.example.flightbookingsystem.controller;
+
+import com.example.flightbookingsystem.dto.RevenueReportDTO;
+import com.example.flightbookingsystem.service.RevenueAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('SCOPE_admin')")
+@Tag(name = "Analytics", description = "Revenue and load factor reports (Admin only)")
+public class AdminAnalyticsController {
+    private final RevenueAnalyticsService revenueAnalyticsService;
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Revenue, seats sold and load factor by departure day, airline or route (Admin only)")
+    public ResponseEntity<List<RevenueReportDTO>> getRevenueReport(
+            @RequestParam(defaultValue = "DAY") RevenueReportDTO.GroupBy groupBy,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(revenueAnalyticsService.getRevenueReport(groupBy, from, to));
+    }
+
+    @PostMapping("/rollups")
+    @Operation(summary = "Rebuild the daily revenue rollups for a range of departure days (Admin only)")
+    public ResponseEntity<Map<String, Integer>> refreshRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Map.of("rollups", revenueAnalyticsService.refreshRollups(from, to)));
+    }
+}
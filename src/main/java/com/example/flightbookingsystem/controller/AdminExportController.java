@@ -0,0 +1,47 @@
+package com.example.flightbookingsystem.controller;
+
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('SCOPE_admin')")
+@Tag(name = "Data Export", description = "Streaming exports for reconciliation (Admin only)")
+public class AdminExportController {
+    private final ExportService exportService;
+
+    @GetMapping("/flights")
+    @Operation(summary = "Stream all flights as NDJSON or CSV (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportFlights(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return stream("flights", format, out -> exportService.exportFlights(out, format));
+    }
+
+    @GetMapping("/bookings")
+    @Operation(summary = "Stream all bookings as NDJSON or CSV (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return stream("bookings", format, out -> exportService.exportBookings(out, format));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.flightbookingsystem.controller;
+
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.dto.FlightImportResultDTO;
+import com.example.flightbookingsystem.service.FlightImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/import")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('SCOPE_admin')")
+@Tag(name = "Data Import", description = "Bulk schedule imports (Admin only)")
+public class AdminImportController {
+    private final FlightImportService flightImportService;
+
+    @PostMapping("/flights")
+    @Operation(summary = "Upsert a flight schedule streamed as NDJSON or CSV (Admin only)")
+    public ResponseEntity<FlightImportResultDTO> importFlights(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format, InputStream body) {
+        return ResponseEntity.ok(flightImportService.importFlights(body, format));
+    }
+}
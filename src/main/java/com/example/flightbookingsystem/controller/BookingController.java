@@ -2,15 +2,22 @@ package com.example.flightbookingsystem.controller;
 
 
 import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.dto.BookingStatusDTO;
+import com.example.flightbookingsystem.service.AsyncBookingService;
 import com.example.flightbookingsystem.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -19,6 +26,7 @@ import java.util.List;
 @Tag(name = "Booking Management", description = "APIs for managing bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final AsyncBookingService asyncBookingService;
 
     @PostMapping
     @Operation(summary = "Create a new booking")
@@ -26,10 +34,26 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(bookingDTO));
     }
 
+    @PostMapping("/async")
+    @Operation(summary = "Queue a booking and return its reference immediately")
+    public ResponseEntity<BookingStatusDTO> submitBooking(@Valid @RequestBody BookingDTO bookingDTO) {
+        BookingStatusDTO status = asyncBookingService.submit(bookingDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/bookings/" + status.getBookingReference() + "/status"))
+                .body(status);
+    }
+
+    @GetMapping("/{reference}/status")
+    @Operation(summary = "Get the processing status of a booking")
+    public ResponseEntity<BookingStatusDTO> getBookingStatus(@PathVariable String reference) {
+        return ResponseEntity.ok(asyncBookingService.getStatus(reference));
+    }
+
     @GetMapping("/{reference}")
     @Operation(summary = "Get booking by reference")
     public ResponseEntity<BookingDTO> getBookingByReference(@PathVariable String reference) {
-        return ResponseEntity.ok(bookingService.getBookingByReference(reference));
+        BookingDTO booking = bookingService.getBookingByReference(reference);
+        return HttpCaching.versioned("booking", booking.getId(), booking.getUpdatedAt(), HttpCaching.BOOKING, booking);
     }
 
     @GetMapping("/user/{userId}")
@@ -38,6 +62,14 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getUserBookings(userId));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "page")
+    @Operation(summary = "Get a page of bookings for a user")
+    public ResponseEntity<Page<BookingDTO>> getUserBookingsPage(
+            @PathVariable Long userId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(bookingService.getUserBookings(userId, pageable));
+    }
+
     @DeleteMapping("/{reference}")
     @Operation(summary = "Cancel a booking")
     public ResponseEntity<Void> cancelBooking(@PathVariable String reference) {
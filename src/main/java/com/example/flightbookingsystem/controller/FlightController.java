@@ -2,15 +2,23 @@ package com.example.flightbookingsystem.controller;
 
 import com.example.flightbookingsystem.dto.FlightDTO;
 import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.dto.FlightSuggestionDTO;
+import com.example.flightbookingsystem.dto.SeatMapDTO;
 import com.example.flightbookingsystem.service.FlightService;
+import com.example.flightbookingsystem.service.FlightSuggestionIndex;
+import com.example.flightbookingsystem.service.SeatAvailabilityBroadcaster;
+import com.example.flightbookingsystem.service.SeatMapService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,29 +28,70 @@ import java.util.List;
 @Tag(name = "Flight Management", description = "APIs for managing flights")
 public class FlightController {
     private final FlightService flightService;
+    private final FlightSuggestionIndex flightSuggestionIndex;
+    private final SeatMapService seatMapService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get flight by ID")
     public ResponseEntity<FlightDTO> getFlightById(@PathVariable Long id) {
-        return ResponseEntity.ok(flightService.getFlightById(id));
+        FlightDTO flight = flightService.getFlightById(id);
+        return HttpCaching.versioned("flight", flight.getId(), flight.getUpdatedAt(), HttpCaching.FLIGHT, flight);
+    }
+
+    @GetMapping(value = "/{id}/seats", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Get the seat occupancy bitmap of a flight",
+            description = "Bit i, least significant first within each byte, is set when seat i is taken. "
+                    + "Seats are numbered row by row, A to F.")
+    public ResponseEntity<byte[]> getSeatMap(@PathVariable Long id) {
+        SeatMapDTO seatMap = seatMapService.getSeatMap(id);
+        return ResponseEntity.ok()
+                .header("X-Total-Seats", String.valueOf(seatMap.getTotalSeats()))
+                .header("X-Seats-Per-Row", String.valueOf(seatMap.getSeatsPerRow()))
+                .header("X-Available-Seats", String.valueOf(seatMap.getAvailableSeats()))
+                .body(seatMap.getOccupied());
+    }
+
+    @GetMapping("/{id}/availability/stream")
+    @Operation(summary = "Stream seat availability of a flight as Server-Sent Events",
+            description = "Sends the current count first, then an 'availability' event whenever it changes, "
+                    + "at most one per 250 ms.")
+    public ResponseEntity<SseEmitter> streamAvailability(@PathVariable Long id) {
+        FlightDTO flight = flightService.getFlightById(id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Keeps nginx from buffering events until its buffer fills
+                .header("X-Accel-Buffering", "no")
+                .body(seatAvailabilityBroadcaster.subscribe(id, flight.getAvailableSeats()));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest airport codes and flight numbers by prefix")
+    public ResponseEntity<FlightSuggestionDTO> suggest(@RequestParam("q") String query,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(HttpCaching.SUGGEST)
+                .body(flightSuggestionIndex.suggest(query, limit));
     }
 
     @GetMapping("/number/{flightNumber}")
     @Operation(summary = "Get flight by flight number")
     public ResponseEntity<FlightDTO> getFlightByNumber(@PathVariable String flightNumber) {
-        return ResponseEntity.ok(flightService.getFlightByNumber(flightNumber));
+        FlightDTO flight = flightService.getFlightByNumber(flightNumber);
+        return HttpCaching.versioned("flight", flight.getId(), flight.getUpdatedAt(), HttpCaching.FLIGHT, flight);
     }
 
     @PostMapping("/search")
     @Operation(summary = "Search for available flights")
     public ResponseEntity<List<FlightDTO>> searchFlights(@Valid @RequestBody FlightSearchRequest request) {
-        List<FlightDTO> flights = flightService.searchFlights(
-                request.getOrigin(),
-                request.getDestination(),
-                request.getDepartureTime(),
-                request.getSeats()
-        );
-        return ResponseEntity.ok(flights);
+        return HttpCaching.search(flightService.searchFlights(request));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search for available flights with query parameters",
+            description = "Same search as the POST variant, in a form shared caches can store.")
+    public ResponseEntity<List<FlightDTO>> searchFlightsByQuery(@Valid @ModelAttribute FlightSearchRequest request) {
+        return HttpCaching.search(flightService.searchFlights(request));
     }
 
     @PostMapping
@@ -0,0 +1,84 @@
+package com.example.flightbookingsystem.controller;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Validators and Cache-Control policies for the read endpoints.
+ *
+ * <p>Responses built here carry an ETag and, where it is meaningful, Last-Modified. Spring MVC
+ * compares them with If-None-Match and If-Modified-Since before the body is written, so a
+ * matching request gets a 304 computed from the cached DTO and nothing is serialized.
+ *
+ * <p>The same resource may be sent as JSON or CBOR, so responses vary by Accept and the ETags
+ * are weak: they identify the version of the data, not the bytes of one representation.
+ */
+final class HttpCaching {
+    // Seat counts move with every booking, so even shared caches revalidate flight details.
+    static final CacheControl FLIGHT = CacheControl.noCache().cachePublic();
+
+    // Search results may be served from the edge briefly; availability is checked again on booking.
+    static final CacheControl SEARCH = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofSeconds(30));
+
+    static final CacheControl SUGGEST = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    // Bookings hold passenger details and must never be stored by a proxy.
+    static final CacheControl BOOKING = CacheControl.noCache().cachePrivate();
+
+    private static final int SEARCH_TAG_BYTES = 16;
+
+    private HttpCaching() {
+    }
+
+    static <T> ResponseEntity<T> versioned(String kind, Long id, LocalDateTime updatedAt,
+                                           CacheControl cacheControl, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (updatedAt != null) {
+            long lastModified = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            response.eTag(weak(kind + "-" + id + "-" + lastModified)).lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+
+    // Results can drop out of a search without any flight becoming newer, so only the ETag,
+    // a hash of the ids and versions in result order, is a safe validator here.
+    static ResponseEntity<List<FlightDTO>> search(List<FlightDTO> flights) {
+        MessageDigest digest = sha256();
+        for (FlightDTO flight : flights) {
+            digest.update((flight.getId() + "@" + flight.getUpdatedAt() + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        String tag = HexFormat.of().formatHex(digest.digest(), 0, SEARCH_TAG_BYTES);
+        return ResponseEntity.ok()
+                .cacheControl(SEARCH)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(weak("search-" + tag))
+                .body(flights);
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
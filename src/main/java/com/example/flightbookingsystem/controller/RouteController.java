@@ -0,0 +1,25 @@
+package com.example.flightbookingsystem.controller;
+
+import com.example.flightbookingsystem.dto.RouteSummaryDTO;
+import com.example.flightbookingsystem.service.RouteSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/routes")
+@RequiredArgsConstructor
+@Tag(name = "Routes", description = "Per-route availability")
+public class RouteController {
+    private final RouteSummaryService routeSummaryService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get flights, remaining seats, lowest price and load factor per route")
+    public ResponseEntity<List<RouteSummaryDTO>> getRouteSummaries() {
+        return ResponseEntity.ok(routeSummaryService.getRouteSummaries());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.flightbookingsystem.controller;
 
 import com.example.flightbookingsystem.dto.UserDTO;
+import com.example.flightbookingsystem.model.UserClaims;
 import com.example.flightbookingsystem.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -22,7 +23,7 @@ public class UserController {
     @GetMapping("/me")
     @Operation(summary = "Get current user profile")
     public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
-        UserDTO user = userService.createOrUpdateUserFromAuth0(authentication);
+        UserDTO user = userService.syncUser(UserClaims.from(authentication));
         return ResponseEntity.ok(user);
     }
 
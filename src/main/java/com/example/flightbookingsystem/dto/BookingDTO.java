@@ -49,4 +49,6 @@ public class BookingDTO {
     private BigDecimal totalPrice;
     private String status;
     private LocalDateTime createdAt;
+    private String assignedSeats;
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.flightbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusDTO {
+    private String bookingReference;
+    private String status;
+    private String message;
+}
@@ -52,5 +52,6 @@ public class FlightDTO {
     private BigDecimal price;
 
     private String status;
+    private LocalDateTime updatedAt;
 }
 
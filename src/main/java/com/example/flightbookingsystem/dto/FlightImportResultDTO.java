@@ -0,0 +1,21 @@
+package com.example.flightbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportResultDTO {
+    private long rowsRead;
+    private long rowsRejected;
+    private long flightsUpserted;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<String> errors;
+}
@@ -1,5 +1,7 @@
 package com.example.flightbookingsystem.dto;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,14 +9,23 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class FlightSearchRequest {
+    public static final int DEFAULT_LIMIT = 50;
+
     @NotBlank(message = "Origin is required")
     private String origin;
 
@@ -22,10 +33,69 @@ public class FlightSearchRequest {
     private String destination;
 
     @NotNull(message = "Departure time is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime departureTime;
 
     @NotNull(message = "Number of seats is required")
     @Min(value = 1, message = "At least 1 seat is required")
     private Integer seats;
-}
 
+    private String airline;
+
+    @DecimalMin(value = "0", message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0", message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    // Query parameter binding for GET /search; JSON bodies go through Jackson instead
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime departureFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime departureTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime arrivalFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime arrivalTo;
+
+    private SortBy sortBy;
+    private Sort.Direction sortDirection;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must not exceed 100")
+    private Integer limit;
+
+    public enum SortBy {
+        DEPARTURE_TIME, PRICE, DURATION
+    }
+
+    public FlightSearchRequest normalized() {
+        return toBuilder()
+                .origin(upper(origin))
+                .destination(upper(destination))
+                .airline(airline == null || airline.isBlank() ? null : airline.trim().toLowerCase(Locale.ROOT))
+                .minPrice(minPrice == null ? null : minPrice.stripTrailingZeros())
+                .maxPrice(maxPrice == null ? null : maxPrice.stripTrailingZeros())
+                .sortBy(sortBy == null ? SortBy.DEPARTURE_TIME : sortBy)
+                .sortDirection(sortDirection == null ? Sort.Direction.ASC : sortDirection)
+                .limit(limit == null ? DEFAULT_LIMIT : limit)
+                .build();
+    }
+
+    public String cacheKey() {
+        FlightSearchRequest key = normalized();
+        return Stream.<Object>of(key.origin, key.destination, key.departureTime, key.seats, key.airline,
+                        plain(key.minPrice), plain(key.maxPrice), key.departureFrom, key.departureTo,
+                        key.arrivalFrom, key.arrivalTo, key.sortBy, key.sortDirection, key.limit)
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+    }
+
+    private static String plain(BigDecimal price) {
+        return price == null ? null : price.toPlainString();
+    }
+
+    private static String upper(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.flightbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSuggestionDTO {
+    private List<String> airports;
+    private List<String> flightNumbers;
+}
@@ -0,0 +1,37 @@
+package com.example.flightbookingsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a revenue report. Only the fields of the requested grouping are set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RevenueReportDTO {
+    private LocalDate date;
+    private String airline;
+    private String origin;
+    private String destination;
+    private Long flightsCount;
+    private Long seatsOffered;
+    private Long seatsSold;
+    private BigDecimal revenue;
+
+    public Double getLoadFactor() {
+        return seatsOffered == null || seatsOffered == 0 ? 0.0 : (double) seatsSold / seatsOffered;
+    }
+
+    public enum GroupBy {
+        DAY, AIRLINE, ROUTE
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.flightbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSummaryDTO {
+    private String origin;
+    private String destination;
+    private Integer flightsCount;
+    private Long totalSeats;
+    private Long availableSeats;
+    private BigDecimal minPrice;
+    // Share of seats sold, 0.0 to 1.0
+    private Double loadFactor;
+}
@@ -0,0 +1,19 @@
+package com.example.flightbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapDTO {
+    private Long flightId;
+    private Integer totalSeats;
+    private Integer seatsPerRow;
+    private Integer availableSeats;
+    // Bit i (least significant first within each byte) is set when seat i is taken
+    private byte[] occupied;
+}
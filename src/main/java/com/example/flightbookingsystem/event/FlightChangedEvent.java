@@ -0,0 +1,22 @@
+package com.example.flightbookingsystem.event;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+
+/**
+ * Published by FlightService after a flight is written. {@code previous} is null for a created
+ * flight and {@code current} is null for a deleted one.
+ */
+public record FlightChangedEvent(FlightDTO previous, FlightDTO current) {
+
+    public static FlightChangedEvent created(FlightDTO flight) {
+        return new FlightChangedEvent(null, flight);
+    }
+
+    public static FlightChangedEvent updated(FlightDTO previous, FlightDTO current) {
+        return new FlightChangedEvent(previous, current);
+    }
+
+    public static FlightChangedEvent deleted(FlightDTO flight) {
+        return new FlightChangedEvent(flight, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.flightbookingsystem.event;
+
+/**
+ * Published by FlightImportService after a bulk schedule import merged its rows into flights.
+ */
+public record FlightsImportedEvent(long flightsUpserted) {
+}
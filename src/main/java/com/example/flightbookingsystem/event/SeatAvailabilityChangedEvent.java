@@ -0,0 +1,8 @@
+package com.example.flightbookingsystem.event;
+
+/**
+ * Published when bookings take seats from a flight or a cancellation gives them back.
+ * {@code availableSeats} is the count after the change.
+ */
+public record SeatAvailabilityChangedEvent(Long flightId, int availableSeats) {
+}
@@ -0,0 +1,7 @@
+package com.example.flightbookingsystem.exception;
+
+public class BookingQueueFullException extends RuntimeException {
+    public BookingQueueFullException(String message) {
+        super(message);
+    }
+}
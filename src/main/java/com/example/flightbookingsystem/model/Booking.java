@@ -2,6 +2,7 @@ package com.example.flightbookingsystem.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,7 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings", indexes = {
-    @Index(name = "idx_booking_reference", columnList = "bookingReference", unique = true),
+    @Index(name = "idx_booking_reference", columnList = "bookingReference"),
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_flight_id", columnList = "flight_id")
 })
@@ -22,10 +23,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 10)
+    // Partitioning only allows UNIQUE (booking_reference, created_at); BookingService claims
+    // references under an advisory lock instead
+    @Column(nullable = false, length = 20)
     private String bookingReference;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -58,6 +62,12 @@ public class Booking {
     @Column(nullable = false, length = 20)
     private BookingStatus status;
 
+    // Comma-separated seat labels such as "12A,12B"
+    @Column(length = 64)
+    private String assignedSeats;
+
+    // Added to the WHERE clause of updates and deletes by id, so they touch one partition
+    @PartitionKey
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
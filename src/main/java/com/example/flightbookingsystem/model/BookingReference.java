@@ -0,0 +1,43 @@
+package com.example.flightbookingsystem.model;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Booking references are "BK", the creation time in epoch millis and three random digits. The
+ * embedded time lets lookups by reference be limited to the partitions around it.
+ */
+public final class BookingReference {
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final String PREFIX = "BK";
+    private static final int MILLIS_DIGITS = 13;
+
+    // Generous bound for the gap between generating the reference and the audited created_at
+    private static final Duration CREATION_SLACK = Duration.ofDays(1);
+
+    public record CreationWindow(LocalDateTime from, LocalDateTime to) {
+    }
+
+    private BookingReference() {
+    }
+
+    public static String generate() {
+        return PREFIX + System.currentTimeMillis() + String.format("%03d", SECURE_RANDOM.nextInt(1000));
+    }
+
+    public static Optional<CreationWindow> creationWindow(String reference) {
+        if (reference == null || !reference.startsWith(PREFIX) || reference.length() < PREFIX.length() + MILLIS_DIGITS) {
+            return Optional.empty();
+        }
+        String millis = reference.substring(PREFIX.length(), PREFIX.length() + MILLIS_DIGITS);
+        if (!millis.chars().allMatch(Character::isDigit)) {
+            return Optional.empty();
+        }
+        LocalDateTime issuedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZoneId.systemDefault());
+        return Optional.of(new CreationWindow(issuedAt.minus(CREATION_SLACK), issuedAt.plus(CREATION_SLACK)));
+    }
+}
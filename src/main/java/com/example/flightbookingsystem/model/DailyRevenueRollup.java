@@ -0,0 +1,62 @@
+package com.example.flightbookingsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Confirmed bookings and offered seats of the flights departing on one day, per airline and
+ * route. Rows are rebuilt in bulk by DailyRevenueRollupRepository.
+ */
+@Entity
+@Table(name = "daily_revenue_rollups")
+@IdClass(DailyRevenueRollup.RollupKey.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueRollup {
+    @Id
+    private LocalDate rollupDate;
+
+    @Id
+    @Column(length = 100)
+    private String airline;
+
+    @Id
+    @Column(length = 3)
+    private String origin;
+
+    @Id
+    @Column(length = 3)
+    private String destination;
+
+    @Column(nullable = false)
+    private Integer flightsCount;
+
+    @Column(nullable = false)
+    private Long seatsOffered;
+
+    @Column(nullable = false)
+    private Long seatsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupKey implements Serializable {
+        private LocalDate rollupDate;
+        private String airline;
+        private String origin;
+        private String destination;
+    }
+}
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Flight {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flights_seq")
+    @SequenceGenerator(name = "flights_seq", sequenceName = "flights_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 10)
@@ -65,6 +66,6 @@ public class Flight {
     private LocalDateTime updatedAt;
 
     public enum FlightStatus {
-        SCHEDULED, DELAYED, CANCELLED, COMPLETED
+        SCHEDULED, DELAYED, DEPARTED, CANCELLED, COMPLETED
     }
 }
@@ -0,0 +1,31 @@
+package com.example.flightbookingsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seat occupancy of one flight stored as a {@link SeatBitmap} in a single {@code bytea} column.
+ */
+@Entity
+@Table(name = "flight_seat_maps")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSeatMap {
+    @Id
+    @Column(name = "flight_id")
+    private Long flightId;
+
+    @Column(nullable = false)
+    private byte[] occupied;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.example.flightbookingsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Totals over the bookable (scheduled or delayed) flights of one route. Rows are written with
+ * native SQL by RouteSummaryRepository, never through the entity.
+ */
+@Entity
+@Table(name = "route_summary")
+@IdClass(RouteSummary.RouteKey.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSummary {
+    @Id
+    @Column(length = 3)
+    private String origin;
+
+    @Id
+    @Column(length = 3)
+    private String destination;
+
+    @Column(nullable = false)
+    private Integer flightsCount;
+
+    @Column(nullable = false)
+    private Long totalSeats;
+
+    @Column(nullable = false)
+    private Long availableSeats;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteKey implements Serializable {
+        private String origin;
+        private String destination;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.flightbookingsystem.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seat occupancy of one flight, one bit per seat in row-major order with six seats (A-F) per
+ * row. The byte form puts seat {@code i} in bit {@code i % 8} of byte {@code i / 8}, the layout
+ * {@code java.util.BitSet.valueOf(byte[])} reads.
+ */
+public final class SeatBitmap {
+    public static final int SEATS_PER_ROW = 6;
+
+    private static final String SEAT_LETTERS = "ABCDEF";
+    private static final int ROW_MASK = (1 << SEATS_PER_ROW) - 1;
+
+    private final int totalSeats;
+    private final long[] words;
+
+    private SeatBitmap(int totalSeats, long[] words) {
+        this.totalSeats = totalSeats;
+        this.words = words;
+    }
+
+    public static SeatBitmap empty(int totalSeats) {
+        return new SeatBitmap(totalSeats, new long[wordCount(totalSeats)]);
+    }
+
+    // Bytes beyond totalSeats are ignored, so a map survives a change of aircraft size
+    public static SeatBitmap fromBytes(int totalSeats, byte[] bytes) {
+        long[] words = new long[wordCount(totalSeats)];
+        int length = Math.min(bytes.length, byteCount(totalSeats));
+        for (int i = 0; i < length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        SeatBitmap bitmap = new SeatBitmap(totalSeats, words);
+        bitmap.clearBeyondCapacity();
+        return bitmap;
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[byteCount(totalSeats)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+        return bytes;
+    }
+
+    public int totalSeats() {
+        return totalSeats;
+    }
+
+    public int rows() {
+        return (totalSeats + SEATS_PER_ROW - 1) / SEATS_PER_ROW;
+    }
+
+    public int freeSeats() {
+        int occupied = 0;
+        for (long word : words) {
+            occupied += Long.bitCount(word);
+        }
+        return totalSeats - occupied;
+    }
+
+    public boolean isOccupied(int seat) {
+        return (words[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Claims seats for a party and returns their indexes. A party of up to six gets a run in one
+     * row; a larger party is split over two consecutive rows. If no such block is free the
+     * first free seats are used. Empty when fewer seats than the party size are free.
+     */
+    public Optional<int[]> allocate(int party) {
+        if (party < 1 || party > freeSeats()) {
+            return Optional.empty();
+        }
+        int[] seats = party <= SEATS_PER_ROW ? inOneRow(party) : inTwoRows(party);
+        if (seats == null) {
+            seats = firstFree(party);
+        }
+        for (int seat : seats) {
+            words[seat >>> 6] |= 1L << seat;
+        }
+        return Optional.of(seats);
+    }
+
+    public void release(int[] seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && seat < totalSeats) {
+                words[seat >>> 6] &= ~(1L << seat);
+            }
+        }
+    }
+
+    public static String label(int seat) {
+        return (seat / SEATS_PER_ROW + 1) + String.valueOf(SEAT_LETTERS.charAt(seat % SEATS_PER_ROW));
+    }
+
+    public static int seatIndex(String label) {
+        String trimmed = label.trim();
+        int row = Integer.parseInt(trimmed.substring(0, trimmed.length() - 1));
+        int column = SEAT_LETTERS.indexOf(Character.toUpperCase(trimmed.charAt(trimmed.length() - 1)));
+        if (row < 1 || column < 0) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        return (row - 1) * SEATS_PER_ROW + column;
+    }
+
+    private int[] inOneRow(int party) {
+        for (int row = 0; row < rows(); row++) {
+            int starts = runStarts(freeInRow(row), party);
+            if (starts != 0) {
+                return block(row, Integer.numberOfTrailingZeros(starts), party);
+            }
+        }
+        return null;
+    }
+
+    private int[] inTwoRows(int party) {
+        int front = (party + 1) / 2;
+        int back = party - front;
+        for (int row = 0; row + 1 < rows(); row++) {
+            int frontStarts = runStarts(freeInRow(row), front);
+            int backStarts = runStarts(freeInRow(row + 1), back);
+            if (frontStarts != 0 && backStarts != 0) {
+                int[] seats = new int[party];
+                System.arraycopy(block(row, Integer.numberOfTrailingZeros(frontStarts), front), 0, seats, 0, front);
+                System.arraycopy(block(row + 1, Integer.numberOfTrailingZeros(backStarts), back), 0, seats, front, back);
+                return seats;
+            }
+        }
+        return null;
+    }
+
+    private int[] firstFree(int party) {
+        int[] seats = new int[party];
+        int found = 0;
+        for (int w = 0; w < words.length && found < party; w++) {
+            long free = ~words[w] & validBits(w);
+            while (free != 0 && found < party) {
+                seats[found++] = (w << 6) + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+        }
+        return seats;
+    }
+
+    // Bit i of the result is set when seats i..i+length-1 of the row are all free
+    private static int runStarts(int free, int length) {
+        int starts = free;
+        for (int i = 1; i < length; i++) {
+            starts &= free >>> i;
+        }
+        return starts;
+    }
+
+    private int freeInRow(int row) {
+        int start = row * SEATS_PER_ROW;
+        int word = start >>> 6;
+        int offset = start & 63;
+        long bits = words[word] >>> offset;
+        if (offset > 64 - SEATS_PER_ROW && word + 1 < words.length) {
+            bits |= words[word + 1] << (64 - offset);
+        }
+        int free = ~(int) bits & ROW_MASK;
+        int seatsInRow = Math.min(SEATS_PER_ROW, totalSeats - start);
+        return free & ((1 << seatsInRow) - 1);
+    }
+
+    private static int[] block(int row, int column, int length) {
+        int[] seats = new int[length];
+        for (int i = 0; i < length; i++) {
+            seats[i] = row * SEATS_PER_ROW + column + i;
+        }
+        return seats;
+    }
+
+    private long validBits(int word) {
+        int remaining = totalSeats - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+
+    private void clearBeyondCapacity() {
+        if (words.length > 0) {
+            words[words.length - 1] &= validBits(words.length - 1);
+        }
+    }
+
+    public static List<String> labels(int[] seats) {
+        List<String> labels = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            labels.add(label(seat));
+        }
+        return labels;
+    }
+
+    private static int wordCount(int totalSeats) {
+        return (totalSeats + 63) >>> 6;
+    }
+
+    private static int byteCount(int totalSeats) {
+        return (totalSeats + 7) >>> 3;
+    }
+}
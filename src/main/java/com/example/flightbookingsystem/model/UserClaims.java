@@ -0,0 +1,39 @@
+package com.example.flightbookingsystem.model;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The Auth0 claims a local user is synchronized from. {@link #hash()} covers the claims that are
+ * copied onto the user, so an unchanged hash means there is nothing to write.
+ */
+public record UserClaims(String subject, String email, String givenName, String familyName,
+                         List<String> permissions) {
+
+    public static UserClaims from(Authentication authentication) {
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        return new UserClaims(jwt.getSubject(), jwt.getClaimAsString("email"), jwt.getClaimAsString("given_name"),
+                jwt.getClaimAsString("family_name"), jwt.getClaimAsStringList("permissions"));
+    }
+
+    public String hash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        // NUL separated so that moving characters between claims changes the hash
+        Stream.of(subject, email, givenName, familyName)
+                .map(claim -> claim == null ? "" : claim)
+                .forEach(claim -> digest.update((claim + '\0').getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.flightbookingsystem.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} bean so every statement is timed for the
+ * {@link SlowQueryLog}. Only that bean is wrapped; with replica routing enabled it already sits
+ * in front of all pools, and wrapping the pools as well would record each statement twice.
+ */
+@Component
+public class DataSourceInstrumentation implements BeanPostProcessor {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public DataSourceInstrumentation(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(DATA_SOURCE_BEAN)
+                    .listener(slowQueryLog.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
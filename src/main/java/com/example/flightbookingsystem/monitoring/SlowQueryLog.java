@@ -0,0 +1,95 @@
+package com.example.flightbookingsystem.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the most recent statements that ran longer than the threshold in a fixed-size ring
+ * buffer, so the memory used does not grow with traffic. Only the SQL and the number of bind
+ * parameters are kept, never the values.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog implements QueryExecutionListener {
+    static final int MAX_SQL_LENGTH = 2000;
+
+    private final long thresholdMs;
+    private final SlowQuery[] entries;
+    private long written;
+
+    public SlowQueryLog(@Value("${app.monitoring.slow-queries.threshold-ms:500}") long thresholdMs,
+                        @Value("${app.monitoring.slow-queries.capacity:100}") int capacity) {
+        this.thresholdMs = thresholdMs;
+        this.entries = new SlowQuery[Math.max(1, capacity)];
+    }
+
+    public record SlowQuery(Instant executedAt, long durationMs, String sql, int bindCount, int batchSize,
+                            boolean success) {
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder();
+        int bindCount = 0;
+        for (QueryInfo query : queryInfoList) {
+            if (!sql.isEmpty()) {
+                sql.append("; ");
+            }
+            sql.append(query.getQuery());
+            bindCount += query.getParametersList().stream().mapToInt(List::size).sum();
+        }
+        record(new SlowQuery(Instant.now(), execInfo.getElapsedTime(), truncate(sql.toString()), bindCount,
+                execInfo.isBatch() ? execInfo.getBatchSize() : 1, execInfo.isSuccess()));
+    }
+
+    void record(SlowQuery query) {
+        log.warn("Slow query took {} ms: {}", query.durationMs(), query.sql());
+        synchronized (entries) {
+            entries[(int) (written % entries.length)] = query;
+            written++;
+        }
+    }
+
+    /** Newest first. */
+    public List<SlowQuery> recent() {
+        synchronized (entries) {
+            int size = (int) Math.min(written, entries.length);
+            List<SlowQuery> recent = new ArrayList<>(size);
+            for (long i = written - 1; i >= written - size; i--) {
+                recent.add(entries[(int) (i % entries.length)]);
+            }
+            return recent;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            Arrays.fill(entries, null);
+            written = 0;
+        }
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets held in this instance. Keys hash onto a fixed set of stripes, each a small LRU map
+ * under its own lock, so concurrent clients rarely contend and the total number of buckets stays
+ * bounded however many addresses a scraper rotates through.
+ */
+public class LocalRateLimiter implements RateLimiter {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Stripe[] stripes;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter(int stripes, int maxBuckets, Duration idleTimeout) {
+        this(stripes, maxBuckets, idleTimeout, System::nanoTime);
+    }
+
+    LocalRateLimiter(int stripes, int maxBuckets, Duration idleTimeout, LongSupplier nanoClock) {
+        int perStripe = Math.max(1, maxBuckets / stripes);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+        this.idleNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        Stripe stripe = stripeFor(key);
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit.getCapacity(), now);
+                stripe.put(key, bucket);
+            }
+            return bucket.tryConsume(limit, now);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                int before = stripe.size();
+                stripe.values().removeIf(bucket -> now - bucket.lastSeen > idleNanos);
+                evicted += before - stripe.size();
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // Spreads the hash bits so similar keys such as neighbouring IPs land on different stripes
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastSeen;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastSeen = now;
+        }
+
+        Decision tryConsume(RateLimitProperties.Limit limit, long now) {
+            double refill = (now - lastSeen) / NANOS_PER_SECOND * limit.getRefillPerSecond();
+            tokens = Math.min(limit.getCapacity(), tokens + refill);
+            lastSeen = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.ALLOWED;
+            }
+            return Decision.rejected((1 - tokens) / limit.getRefillPerSecond());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import com.example.flightbookingsystem.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies the configured token-bucket limits to the API. Clients are told apart by their
+ * authenticated subject, or by address when anonymous, and every route pattern has buckets of
+ * its own. Runs right after the security filter chain, which has resolved the principal.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties.Limit defaultLimit;
+    private final List<RouteLimit> routes;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.defaultLimit = properties.getDefaultLimit();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new RouteLimit(PathPatternParser.defaultInstance.parse(route.getPattern()), route))
+                .toList();
+        this.trustedProxies = properties.getTrustedProxies().stream().map(IpAddressMatcher::new).toList();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        RouteLimit route = routes.stream()
+                .filter(candidate -> candidate.pattern().matches(path))
+                .findFirst()
+                .orElse(null);
+        String routeName = route == null ? DEFAULT_ROUTE : route.pattern().getPatternString();
+        RateLimitProperties.Limit limit = route == null ? defaultLimit : route.limit();
+
+        Principal principal = request.getUserPrincipal();
+        String client = principal != null ? "sub:" + principal.getName() : "ip:" + clientAddress(request);
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(routeName + "|" + client, limit);
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("http.ratelimit.rejected",
+                "route", routeName,
+                "client", principal != null ? "authenticated" : "anonymous").increment();
+        reject(response, decision.retryAfterSeconds());
+    }
+
+    // Anyone reaching the application directly can write X-Forwarded-For, so it only counts when
+    // the request came from a trusted proxy. nginx appends the address it received the request
+    // from to whatever the client sent, so only the last entry is the client's.
+    String clientAddress(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()
+                || trustedProxies.stream().noneMatch(proxy -> proxy.matches(remote))) {
+            return remote;
+        }
+        return forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded, retry in " + retryAfterSeconds + "s")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record RouteLimit(PathPattern pattern, RateLimitProperties.Limit limit) {
+    }
+}
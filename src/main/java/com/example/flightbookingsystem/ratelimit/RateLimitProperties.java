@@ -0,0 +1,49 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled;
+
+    private Mode mode = Mode.LOCAL;
+
+    // Local mode only: buckets are spread over this many locks and capped in total
+    private int stripes = 64;
+    private int maxBuckets = 100_000;
+
+    // A bucket untouched this long is full again and can be dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Addresses or CIDR ranges of the reverse proxies whose X-Forwarded-For is believed. Requests
+    // from anywhere else are keyed by their own address.
+    private List<String> trustedProxies = new ArrayList<>();
+
+    private Limit defaultLimit = new Limit();
+
+    // First matching pattern wins; paths matching none use the default limit
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Mode {
+        LOCAL, REDIS
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity = 100;
+        private double refillPerSecond = 20;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Route extends Limit {
+        private String pattern;
+    }
+}
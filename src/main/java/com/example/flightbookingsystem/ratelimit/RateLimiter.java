@@ -0,0 +1,17 @@
+package com.example.flightbookingsystem.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket of {@code key}, creating a full bucket on first use.
+     */
+    Decision tryAcquire(String key, RateLimitProperties.Limit limit);
+
+    record Decision(boolean allowed, long retryAfterSeconds) {
+        static final Decision ALLOWED = new Decision(true, 0);
+
+        static Decision rejected(double secondsUntilToken) {
+            return new Decision(false, Math.max(1, (long) Math.ceil(secondsUntilToken)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by every instance. Each bucket is a Redis hash updated by one script
+ * call, and expires once it would have refilled completely.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Returns the milliseconds until a token is available, 0 when one was taken
+    private static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local per_ms = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * per_ms)
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.ceil((1 - tokens) / per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / per_ms) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        double perMillisecond = limit.getRefillPerSecond() / 1000;
+        try {
+            Long waitMillis = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                    String.valueOf(limit.getCapacity()), String.valueOf(perMillisecond),
+                    String.valueOf(System.currentTimeMillis()));
+            return waitMillis == null || waitMillis == 0 ? Decision.ALLOWED : Decision.rejected(waitMillis / 1000.0);
+        } catch (DataAccessException e) {
+            // Losing Redis must not take the public API down with it
+            log.warn("Rate limit check failed for {}, allowing request: {}", key, e.getMessage());
+            return Decision.ALLOWED;
+        }
+    }
+}
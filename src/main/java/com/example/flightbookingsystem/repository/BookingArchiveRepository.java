@@ -0,0 +1,70 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.model.BookingReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only access to bookings_archive, which holds archived booking partitions and the bookings
+ * of archived flights. The table only exists on PostgreSQL, hence the switch.
+ */
+@Repository
+public class BookingArchiveRepository {
+    private static final String SELECT_BY_REFERENCE = """
+            SELECT b.id, b.booking_reference, b.user_id, b.flight_id,
+                   COALESCE(f.flight_number, fa.flight_number) AS flight_number,
+                   b.passenger_first_name, b.passenger_last_name, b.passenger_email, b.passenger_phone,
+                   b.number_of_seats, b.total_price, b.status, b.created_at, b.assigned_seats, b.updated_at
+            FROM bookings_archive b
+            LEFT JOIN flights f ON f.id = b.flight_id
+            LEFT JOIN flights_archive fa ON fa.id = b.flight_id
+            WHERE b.booking_reference = ?""";
+
+    private static final RowMapper<BookingDTO> BOOKING_DTO = (rs, rowNum) -> BookingDTO.builder()
+            .id(rs.getLong("id"))
+            .bookingReference(rs.getString("booking_reference"))
+            .userId(rs.getLong("user_id"))
+            .flightId(rs.getLong("flight_id"))
+            .flightNumber(rs.getString("flight_number"))
+            .passengerFirstName(rs.getString("passenger_first_name"))
+            .passengerLastName(rs.getString("passenger_last_name"))
+            .passengerEmail(rs.getString("passenger_email"))
+            .passengerPhone(rs.getString("passenger_phone"))
+            .numberOfSeats(rs.getInt("number_of_seats"))
+            .totalPrice(rs.getBigDecimal("total_price"))
+            .status(rs.getString("status"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .assignedSeats(rs.getString("assigned_seats"))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public BookingArchiveRepository(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.bookings.archive.lookup-enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public Optional<BookingDTO> findDtoByBookingReference(String reference) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        // The reference bounds the creation time, which prunes the archive partitions too
+        List<BookingDTO> bookings = BookingReference.creationWindow(reference)
+                .map(window -> jdbcTemplate.query(SELECT_BY_REFERENCE + " AND b.created_at BETWEEN ? AND ?", BOOKING_DTO,
+                        reference, Timestamp.valueOf(window.from()), Timestamp.valueOf(window.to())))
+                .filter(found -> !found.isEmpty())
+                .orElseGet(() -> jdbcTemplate.query(SELECT_BY_REFERENCE, BOOKING_DTO, reference));
+        return bookings.stream().findFirst();
+    }
+}
@@ -1,17 +1,94 @@
 package com.example.flightbookingsystem.repository;
 
+import com.example.flightbookingsystem.dto.BookingDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.BookingReference;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Optional<Booking> findByBookingReference(String bookingReference);
+    int EXPORT_FETCH_SIZE = 500;
 
+    // b.user.id resolves to the foreign key column, only the flight number needs a join.
+    String BOOKING_DTO_SELECT = "SELECT new com.example.flightbookingsystem.dto.BookingDTO("
+            + "b.id, b.bookingReference, b.user.id, f.id, f.flightNumber, b.passengerFirstName, "
+            + "b.passengerLastName, b.passengerEmail, b.passengerPhone, b.numberOfSeats, b.totalPrice, "
+            + "cast(b.status as String), b.createdAt, b.assignedSeats, b.updatedAt) FROM Booking b JOIN b.flight f ";
+
+    // bookings is range partitioned on created_at. Reference lookups bound created_at with the
+    // time embedded in the reference so only the partitions around it are searched.
+    default Optional<Booking> findByBookingReference(String bookingReference) {
+        return BookingReference.creationWindow(bookingReference)
+                .map(window -> findByBookingReferenceAndCreatedAtBetween(bookingReference, window.from(), window.to()))
+                .orElseGet(() -> findByBookingReferenceInAnyPartition(bookingReference));
+    }
+
+    default Optional<BookingDTO> findDtoByBookingReference(String bookingReference) {
+        return BookingReference.creationWindow(bookingReference)
+                .map(window -> findDtoByBookingReferenceAndCreatedAtBetween(bookingReference, window.from(), window.to()))
+                .orElseGet(() -> findDtoByBookingReferenceInAnyPartition(bookingReference));
+    }
+
+    // Only (booking_reference, created_at) can be unique on the partitioned table, so
+    // BookingService checks new references here under lockBookingReference.
+    default boolean isBookingReferenceTaken(String bookingReference) {
+        return BookingReference.creationWindow(bookingReference)
+                .map(window -> existsByBookingReferenceAndCreatedAtBetween(bookingReference, window.from(), window.to()))
+                .orElseGet(() -> existsByBookingReference(bookingReference));
+    }
+
+    boolean existsByBookingReferenceAndCreatedAtBetween(String bookingReference, LocalDateTime from, LocalDateTime to);
+
+    boolean existsByBookingReference(String bookingReference);
+
+    // Held until the transaction ends, so two transactions can't both claim the same reference
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:bookingReference))) l", nativeQuery = true)
+    int lockBookingReference(String bookingReference);
+
+    // The flight is fetched in the same statement; the user is only ever read through its id,
+    // which the lazy proxy already holds.
+    @EntityGraph(attributePaths = "flight")
+    Optional<Booking> findByBookingReferenceAndCreatedAtBetween(String bookingReference, LocalDateTime from,
+                                                                LocalDateTime to);
+
+    @EntityGraph(attributePaths = "flight")
+    @Query("SELECT b FROM Booking b WHERE b.bookingReference = :bookingReference")
+    Optional<Booking> findByBookingReferenceInAnyPartition(String bookingReference);
+
+    @EntityGraph(attributePaths = "flight")
     List<Booking> findByUserId(Long userId);
 
+    @EntityGraph(attributePaths = "flight")
     List<Booking> findByFlightId(Long flightId);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE b.bookingReference = :bookingReference AND b.createdAt BETWEEN :from AND :to")
+    Optional<BookingDTO> findDtoByBookingReferenceAndCreatedAtBetween(String bookingReference, LocalDateTime from,
+                                                                      LocalDateTime to);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE b.bookingReference = :bookingReference")
+    Optional<BookingDTO> findDtoByBookingReferenceInAnyPartition(String bookingReference);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE b.user.id = :userId")
+    List<BookingDTO> findDtosByUserId(Long userId);
+
+    @Query(value = BOOKING_DTO_SELECT + "WHERE b.user.id = :userId",
+            countQuery = "SELECT count(b) FROM Booking b WHERE b.user.id = :userId")
+    Page<BookingDTO> findDtosByUserId(Long userId, Pageable pageable);
+
+    @Query(BOOKING_DTO_SELECT + "ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<BookingDTO> streamAllForExport();
 }
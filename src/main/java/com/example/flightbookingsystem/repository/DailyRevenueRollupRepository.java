@@ -0,0 +1,85 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.dto.RevenueReportDTO;
+import com.example.flightbookingsystem.model.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, DailyRevenueRollup.RollupKey> {
+    String REPORT_SELECT = "SELECT new com.example.flightbookingsystem.dto.RevenueReportDTO(";
+
+    String REPORT_TOTALS = "sum(r.flightsCount), sum(r.seatsOffered), sum(r.seatsSold), sum(r.revenue)) "
+            + "FROM DailyRevenueRollup r WHERE r.rollupDate BETWEEN :from AND :to ";
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_revenue_rollups WHERE rollup_date >= :from AND rollup_date < :to",
+            nativeQuery = true)
+    int deleteRange(LocalDate from, LocalDate to);
+
+    // The aggregation runs in the database: bookings are summed per flight first, so each
+    // flight's seats are counted once however many bookings it has.
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_revenue_rollups (rollup_date, airline, origin, destination, flights_count,
+                                               seats_offered, seats_sold, revenue, updated_at)
+            SELECT CAST(f.departure_time AS DATE), f.airline, f.origin, f.destination, count(*),
+                   sum(f.total_seats), coalesce(sum(s.seats_sold), 0), coalesce(sum(s.revenue), 0), CURRENT_TIMESTAMP
+            FROM flights f
+            LEFT JOIN (SELECT b.flight_id, sum(b.number_of_seats) AS seats_sold, sum(b.total_price) AS revenue
+                       FROM bookings b
+                       WHERE b.status = 'CONFIRMED'
+                         AND b.flight_id IN (SELECT id FROM flights
+                                             WHERE departure_time >= :from AND departure_time < :to)
+                       GROUP BY b.flight_id) s ON s.flight_id = f.id
+            WHERE f.departure_time >= :from AND f.departure_time < :to AND f.status <> 'CANCELLED'
+            GROUP BY CAST(f.departure_time AS DATE), f.airline, f.origin, f.destination
+            """, nativeQuery = true)
+    int insertRollups(LocalDateTime from, LocalDateTime to);
+
+    // Same aggregation over live and archived rows, for days whose flights FlightArchiver or whose
+    // bookings BookingPartitionMaintenance already moved. The archive tables exist on PostgreSQL only.
+    String INSERT_ROLLUPS_WITH_ARCHIVE = """
+            WITH f AS (SELECT id, airline, origin, destination, departure_time, total_seats, status
+                       FROM flights WHERE departure_time >= :from AND departure_time < :to
+                       UNION ALL
+                       SELECT id, airline, origin, destination, departure_time, total_seats, status
+                       FROM flights_archive WHERE departure_time >= :from AND departure_time < :to),
+                 b AS (SELECT flight_id, number_of_seats, total_price FROM bookings
+                       WHERE status = 'CONFIRMED' AND flight_id IN (SELECT id FROM f)
+                       UNION ALL
+                       SELECT flight_id, number_of_seats, total_price FROM bookings_archive
+                       WHERE status = 'CONFIRMED' AND flight_id IN (SELECT id FROM f))
+            INSERT INTO daily_revenue_rollups (rollup_date, airline, origin, destination, flights_count,
+                                               seats_offered, seats_sold, revenue, updated_at)
+            SELECT CAST(f.departure_time AS DATE), f.airline, f.origin, f.destination, count(*),
+                   sum(f.total_seats), coalesce(sum(s.seats_sold), 0), coalesce(sum(s.revenue), 0), CURRENT_TIMESTAMP
+            FROM f
+            LEFT JOIN (SELECT flight_id, sum(number_of_seats) AS seats_sold, sum(total_price) AS revenue
+                       FROM b GROUP BY flight_id) s ON s.flight_id = f.id
+            WHERE f.status <> 'CANCELLED'
+            GROUP BY CAST(f.departure_time AS DATE), f.airline, f.origin, f.destination
+            """;
+
+    @Modifying
+    @Query(value = INSERT_ROLLUPS_WITH_ARCHIVE, nativeQuery = true)
+    int insertRollupsWithArchive(LocalDateTime from, LocalDateTime to);
+
+    @Query(REPORT_SELECT + "r.rollupDate, cast(null as String), cast(null as String), cast(null as String), "
+            + REPORT_TOTALS + "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<RevenueReportDTO> reportByDay(LocalDate from, LocalDate to);
+
+    @Query(REPORT_SELECT + "cast(null as LocalDate), r.airline, cast(null as String), cast(null as String), "
+            + REPORT_TOTALS + "GROUP BY r.airline ORDER BY sum(r.revenue) DESC")
+    List<RevenueReportDTO> reportByAirline(LocalDate from, LocalDate to);
+
+    @Query(REPORT_SELECT + "cast(null as LocalDate), cast(null as String), r.origin, r.destination, "
+            + REPORT_TOTALS + "GROUP BY r.origin, r.destination ORDER BY sum(r.revenue) DESC")
+    List<RevenueReportDTO> reportByRoute(LocalDate from, LocalDate to);
+}
@@ -1,18 +1,50 @@
 package com.example.flightbookingsystem.repository;
 
+import com.example.flightbookingsystem.dto.FlightDTO;
 import com.example.flightbookingsystem.model.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightSearchRepository {
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Read paths project straight into FlightDTO so no managed entity is created or dirty-checked.
+    String FLIGHT_DTO_SELECT = "SELECT new com.example.flightbookingsystem.dto.FlightDTO("
+            + "f.id, f.flightNumber, f.airline, f.origin, f.destination, f.departureTime, f.arrivalTime, "
+            + "f.totalSeats, f.availableSeats, f.price, cast(f.status as String), f.updatedAt) FROM Flight f ";
+
     Optional<Flight> findByFlightNumber(String flightNumber);
 
+    @Query(FLIGHT_DTO_SELECT + "WHERE f.id = :id")
+    Optional<FlightDTO> findDtoById(Long id);
+
+    @Query(FLIGHT_DTO_SELECT + "WHERE f.flightNumber = :flightNumber")
+    Optional<FlightDTO> findDtoByFlightNumber(String flightNumber);
+
+    // Not read-only, so it is routed to the primary and sees the latest commit rather than a lagging replica
+    @Transactional
+    @Query("SELECT f.availableSeats FROM Flight f WHERE f.id = :id")
+    Optional<Integer> findAvailableSeatsById(Long id);
+
+    @Query(FLIGHT_DTO_SELECT + "ORDER BY f.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<FlightDTO> streamAllForExport();
+
+    @Query("SELECT f.flightNumber AS flightNumber, f.origin AS origin, f.destination AS destination FROM Flight f")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<FlightCodes> streamFlightCodes();
+
     List<Flight> findByOriginAndDestinationAndDepartureTimeBetween(
             String origin,
             String destination,
@@ -20,13 +52,11 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             LocalDateTime endTime
     );
 
-    @Query("SELECT f FROM Flight f WHERE f.origin = :origin AND f.destination = :destination "
-            + "AND f.departureTime >= :departureTime AND f.availableSeats >= :seats "
-            + "AND f.status = 'SCHEDULED'")
-    List<Flight> searchAvailableFlights(
-            String origin,
-            String destination,
-            LocalDateTime departureTime,
-            Integer seats
-    );
+    interface FlightCodes {
+        String getFlightNumber();
+
+        String getOrigin();
+
+        String getDestination();
+    }
 }
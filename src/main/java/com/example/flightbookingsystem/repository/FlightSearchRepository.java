@@ -0,0 +1,10 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+
+import java.util.List;
+
+public interface FlightSearchRepository {
+    List<FlightDTO> searchAvailableFlights(FlightSearchRequest request);
+}
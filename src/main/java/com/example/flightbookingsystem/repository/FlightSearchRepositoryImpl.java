@@ -0,0 +1,99 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.model.Flight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FlightSearchRepositoryImpl implements FlightSearchRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<FlightDTO> searchAvailableFlights(FlightSearchRequest request) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<FlightDTO> query = cb.createQuery(FlightDTO.class);
+        Root<Flight> flight = query.from(Flight.class);
+
+        Path<LocalDateTime> departure = flight.get("departureTime");
+        Path<LocalDateTime> arrival = flight.get("arrivalTime");
+        Path<BigDecimal> price = flight.get("price");
+
+        query.select(cb.construct(FlightDTO.class,
+                flight.get("id"), flight.get("flightNumber"), flight.get("airline"), flight.get("origin"),
+                flight.get("destination"), departure, arrival, flight.get("totalSeats"),
+                flight.get("availableSeats"), price, flight.get("status").as(String.class),
+                flight.get("updatedAt")));
+
+        // Origin, destination and departure time are the keys of idx_flights_search_scheduled.
+        // The index is partial on status = 'SCHEDULED', so the status has to reach the SQL as a
+        // literal: bound as a parameter, a generic plan could not prove the index applies.
+        // The optional filters are evaluated on the rows that index returns.
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(flight.get("origin"), request.getOrigin()));
+        predicates.add(cb.equal(flight.get("destination"), request.getDestination()));
+        predicates.add(cb.greaterThanOrEqualTo(departure, request.getDepartureTime()));
+        predicates.add(cb.greaterThanOrEqualTo(flight.get("availableSeats"), request.getSeats()));
+        predicates.add(cb.equal(flight.get("status"), cb.literal(Flight.FlightStatus.SCHEDULED)));
+
+        if (request.getAirline() != null) {
+            predicates.add(cb.equal(cb.lower(flight.get("airline")), request.getAirline()));
+        }
+        if (request.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(price, request.getMinPrice()));
+        }
+        if (request.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(price, request.getMaxPrice()));
+        }
+        addTimeOfDayWindow(cb, predicates, departure.as(LocalTime.class),
+                request.getDepartureFrom(), request.getDepartureTo());
+        addTimeOfDayWindow(cb, predicates, arrival.as(LocalTime.class),
+                request.getArrivalFrom(), request.getArrivalTo());
+
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(sortOrder(cb, request, departure, arrival, price), cb.asc(flight.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(request.getLimit())
+                .getResultList();
+    }
+
+    // A window such as 22:00-02:00 wraps past midnight and matches either side of it.
+    private void addTimeOfDayWindow(HibernateCriteriaBuilder cb, List<Predicate> predicates,
+                                    Expression<LocalTime> timeOfDay, LocalTime from, LocalTime to) {
+        if (from != null && to != null) {
+            predicates.add(from.isAfter(to)
+                    ? cb.or(cb.greaterThanOrEqualTo(timeOfDay, from), cb.lessThanOrEqualTo(timeOfDay, to))
+                    : cb.between(timeOfDay, from, to));
+        } else if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timeOfDay, from));
+        } else if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(timeOfDay, to));
+        }
+    }
+
+    private Order sortOrder(HibernateCriteriaBuilder cb, FlightSearchRequest request,
+                            Path<LocalDateTime> departure, Path<LocalDateTime> arrival, Path<BigDecimal> price) {
+        Expression<?> key = switch (request.getSortBy()) {
+            case PRICE -> price;
+            case DURATION -> cb.durationBetween(arrival, departure);
+            default -> departure;
+        };
+        return request.getSortDirection() == Sort.Direction.DESC ? cb.desc(key) : cb.asc(key);
+    }
+}
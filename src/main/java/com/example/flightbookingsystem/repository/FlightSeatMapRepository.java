@@ -0,0 +1,25 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.model.FlightSeatMap;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FlightSeatMapRepository extends JpaRepository<FlightSeatMap, Long> {
+
+    // Concurrent first bookings on a flight race to create the row; the loser's insert is a no-op.
+    @Modifying
+    @Query(value = "INSERT INTO flight_seat_maps (flight_id, occupied, updated_at) "
+            + "VALUES (:flightId, CAST('' AS bytea), now()) ON CONFLICT (flight_id) DO NOTHING", nativeQuery = true)
+    void createIfAbsent(Long flightId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM FlightSeatMap m WHERE m.flightId = :flightId")
+    Optional<FlightSeatMap> findForUpdate(Long flightId);
+}
@@ -0,0 +1,52 @@
+package com.example.flightbookingsystem.repository;
+
+import com.example.flightbookingsystem.model.RouteSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RouteSummaryRepository extends JpaRepository<RouteSummary, RouteSummary.RouteKey> {
+    // Keep in sync with RouteSummaryService.isBookable
+    String BOOKABLE = "f.status IN ('SCHEDULED', 'DELAYED')";
+
+    String UPSERT = "INSERT INTO route_summary "
+            + "(origin, destination, flights_count, total_seats, available_seats, min_price, updated_at) ";
+
+    String ON_CONFLICT = " ON CONFLICT (origin, destination) DO UPDATE SET "
+            + "flights_count = EXCLUDED.flights_count, total_seats = EXCLUDED.total_seats, "
+            + "available_seats = EXCLUDED.available_seats, min_price = EXCLUDED.min_price, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    // Without GROUP BY the aggregate yields one row even when the route has no flights left;
+    // deleteEmptyRoute removes it afterwards.
+    @Modifying
+    @Query(value = UPSERT + "SELECT :origin, :destination, count(f.id), coalesce(sum(f.total_seats), 0), "
+            + "coalesce(sum(f.available_seats), 0), min(f.price), now() FROM flights f "
+            + "WHERE f.origin = :origin AND f.destination = :destination AND " + BOOKABLE + ON_CONFLICT,
+            nativeQuery = true)
+    void refreshRoute(String origin, String destination);
+
+    @Modifying
+    @Query(value = "DELETE FROM route_summary WHERE origin = :origin AND destination = :destination "
+            + "AND flights_count = 0", nativeQuery = true)
+    void deleteEmptyRoute(String origin, String destination);
+
+    @Modifying
+    @Query("UPDATE RouteSummary r SET r.availableSeats = r.availableSeats + :delta, r.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE r.origin = :origin AND r.destination = :destination")
+    int adjustAvailableSeats(String origin, String destination, long delta);
+
+    @Modifying
+    @Query(value = UPSERT + "SELECT f.origin, f.destination, count(*), sum(f.total_seats), sum(f.available_seats), "
+            + "min(f.price), now() FROM flights f WHERE " + BOOKABLE + " GROUP BY f.origin, f.destination"
+            + ON_CONFLICT, nativeQuery = true)
+    int refreshAllRoutes();
+
+    @Modifying
+    @Query(value = "DELETE FROM route_summary r WHERE NOT EXISTS (SELECT 1 FROM flights f "
+            + "WHERE f.origin = r.origin AND f.destination = r.destination AND " + BOOKABLE + ")",
+            nativeQuery = true)
+    int deleteRoutesWithoutFlights();
+}
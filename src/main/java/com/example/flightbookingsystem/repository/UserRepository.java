@@ -1,14 +1,27 @@
 package com.example.flightbookingsystem.repository;
 
+import com.example.flightbookingsystem.dto.UserDTO;
 import com.example.flightbookingsystem.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // The password is never read back, so the projection leaves it null.
+    String USER_DTO_SELECT = "SELECT new com.example.flightbookingsystem.dto.UserDTO("
+            + "u.id, u.email, cast(null as String), u.firstName, u.lastName, u.phoneNumber, "
+            + "cast(u.role as String), u.active) FROM User u ";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query(USER_DTO_SELECT + "WHERE u.id = :id")
+    Optional<UserDTO> findDtoById(Long id);
+
+    @Query(USER_DTO_SELECT + "WHERE u.email = :email")
+    Optional<UserDTO> findDtoByEmail(String email);
+}
@@ -0,0 +1,168 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.dto.BookingStatusDTO;
+import com.example.flightbookingsystem.exception.BookingQueueFullException;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.exception.ResourceNotFoundException;
+import com.example.flightbookingsystem.model.BookingReference;
+import com.example.flightbookingsystem.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts bookings into a bounded in-memory queue and answers straight away; a small pool of
+ * workers drains the queue in batches and runs each booking through BookingService. Status is
+ * kept in Redis so any instance can answer a poll.
+ */
+@Service
+@Slf4j
+public class AsyncBookingService {
+    public static final String QUEUED = "QUEUED";
+    public static final String FAILED = "FAILED";
+
+    private static final String STATUS_KEY_PREFIX = "bookingStatus::";
+    private static final Duration STATUS_TTL = Duration.ofHours(1);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final BlockingQueue<QueuedBooking> queue;
+    private final int workerCount;
+    private final int batchSize;
+
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private record QueuedBooking(String reference, BookingDTO booking) {
+    }
+
+    public AsyncBookingService(BookingService bookingService,
+                               BookingRepository bookingRepository,
+                               RedisTemplate<String, Object> redisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.bookings.async.queue-capacity:1000}") int queueCapacity,
+                               @Value("${app.bookings.async.workers:4}") int workerCount,
+                               @Value("${app.bookings.async.batch-size:20}") int batchSize) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.redisTemplate = redisTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        Gauge.builder("bookings.async.queue.size", queue, BlockingQueue::size)
+                .description("Bookings accepted but not processed yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "booking-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+        List<QueuedBooking> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(queued -> saveStatus(queued.reference(), FAILED, "Service shut down before processing"));
+        if (!abandoned.isEmpty()) {
+            log.warn("{} queued bookings were not processed before shutdown", abandoned.size());
+        }
+    }
+
+    public BookingStatusDTO submit(BookingDTO bookingDTO) {
+        String reference = BookingReference.generate();
+        // Status first, so a poll that races the worker never sees an unknown reference
+        saveStatus(reference, QUEUED, null);
+        if (!queue.offer(new QueuedBooking(reference, bookingDTO))) {
+            redisTemplate.delete(STATUS_KEY_PREFIX + reference);
+            throw new BookingQueueFullException("Too many bookings in progress, please retry shortly");
+        }
+        log.info("Queued booking {} for flight: {}", reference, bookingDTO.getFlightId());
+        return status(reference, QUEUED, null);
+    }
+
+    public BookingStatusDTO getStatus(String reference) {
+        Object status = redisTemplate.opsForValue().get(STATUS_KEY_PREFIX + reference);
+        if (status instanceof BookingStatusDTO bookingStatus) {
+            return bookingStatus;
+        }
+        // Status entries expire; the booking itself is the record after that
+        return bookingRepository.findDtoByBookingReference(reference)
+                .map(booking -> status(reference, booking.getStatus(), null))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+    }
+
+    private void drain() {
+        List<QueuedBooking> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                QueuedBooking first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.forEach(this::process);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Each booking commits on its own so one sold-out flight does not fail the whole batch
+    private void process(QueuedBooking queued) {
+        try {
+            BookingDTO booking = bookingService.createBooking(queued.booking(), queued.reference());
+            saveStatus(queued.reference(), booking.getStatus(), null);
+        } catch (ResourceNotFoundException | BusinessException e) {
+            saveStatus(queued.reference(), FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to process queued booking {}", queued.reference(), e);
+            saveStatus(queued.reference(), FAILED, "Booking could not be processed");
+        }
+    }
+
+    private void saveStatus(String reference, String status, String message) {
+        redisTemplate.opsForValue().set(STATUS_KEY_PREFIX + reference, status(reference, status, message), STATUS_TTL);
+    }
+
+    private static BookingStatusDTO status(String reference, String status, String message) {
+        return BookingStatusDTO.builder()
+                .bookingReference(reference)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.flightbookingsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps monthly bookings partitions ahead of the calendar and moves partitions whose flights
+ * have all departed from bookings into bookings_archive, so the hot table and its indexes only
+ * hold bookings that can still change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.bookings.partitions", name = "enabled", havingValue = "true")
+public class BookingPartitionMaintenance {
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("bookings_p(\\d{4})_(\\d{2})");
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'bookings'::regclass ORDER BY c.relname""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.bookings.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${app.bookings.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        createFuturePartitions(YearMonth.now());
+        archiveDepartedPartitions(LocalDateTime.now());
+    }
+
+    public void createFuturePartitions(YearMonth currentMonth) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF bookings FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+                        + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Fails when bookings_default already holds rows for that month; they have to be
+                // moved by hand before the partition can be created.
+                log.error("Could not create bookings partition for {}", month, e);
+            }
+        }
+    }
+
+    public int archiveDepartedPartitions(LocalDateTime now) {
+        int archived = 0;
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            // Bookings made in a month can be for flights long after it, so the month must be over
+            // and every flight booked in it must have departed.
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isBefore(now) || hasUpcomingFlights(partition, now)) {
+                continue;
+            }
+            archive(partition, month);
+            archived++;
+        }
+        return archived;
+    }
+
+    private boolean hasUpcomingFlights(String partition, LocalDateTime now) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " b JOIN flights f ON f.id = b.flight_id "
+                        + "WHERE f.departure_time > ?)", Boolean.class, now));
+    }
+
+    private void archive(String partition, YearMonth month) {
+        log.info("Archiving bookings partition {}", partition);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + partition);
+            // Archived bookings must not pin their flights, which are archived on their own schedule.
+            jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT IF EXISTS fk_booking_user, "
+                    + "DROP CONSTRAINT IF EXISTS fk_booking_flight");
+            // FlightArchiver puts bookings of archived flights into the default partition. PostgreSQL
+            // refuses the attach while it holds rows of this month, so they join the partition first.
+            jdbcTemplate.update("WITH moved AS (DELETE FROM bookings_archive_default "
+                    + "WHERE created_at >= ? AND created_at < ? RETURNING " + FlightArchiver.BOOKING_COLUMNS + ") "
+                    + "INSERT INTO " + partition + " (" + FlightArchiver.BOOKING_COLUMNS + ") "
+                    + "SELECT " + FlightArchiver.BOOKING_COLUMNS + " FROM moved",
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            jdbcTemplate.execute("ALTER TABLE bookings_archive ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        });
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "bookings_p" + month.format(PARTITION_SUFFIX);
+    }
+}
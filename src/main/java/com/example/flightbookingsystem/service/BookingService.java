@@ -2,42 +2,85 @@ package com.example.flightbookingsystem.service;
 
 
 import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.event.SeatAvailabilityChangedEvent;
 import com.example.flightbookingsystem.exception.BusinessException;
 import com.example.flightbookingsystem.exception.ResourceNotFoundException;
 import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.BookingReference;
 import com.example.flightbookingsystem.model.Flight;
 import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.repository.BookingArchiveRepository;
 import com.example.flightbookingsystem.repository.BookingRepository;
 import com.example.flightbookingsystem.repository.FlightRepository;
 import com.example.flightbookingsystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+    private static final int MAX_REFERENCE_ATTEMPTS = 5;
+
     private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
     private final FlightRepository flightRepository;
     private final UserRepository userRepository;
     private final FlightService flightService;
-
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private final SeatMapService seatMapService;
+    private final RouteSummaryService routeSummaryService;
+    private final FlightCacheEvictor flightCacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     @Transactional
     public BookingDTO createBooking(BookingDTO bookingDTO) {
-        log.info("Creating booking for flight: {}", bookingDTO.getFlightId());
+        for (int attempt = 1; ; attempt++) {
+            String bookingReference = generateBookingReference();
+            if (claimBookingReference(bookingReference)) {
+                return create(bookingDTO, bookingReference);
+            }
+            if (attempt == MAX_REFERENCE_ATTEMPTS) {
+                throw new BusinessException("Could not allocate a booking reference");
+            }
+        }
+    }
+
+    // Queued bookings carry the reference already handed to the client, so a taken one fails
+    @Transactional
+    public BookingDTO createBooking(BookingDTO bookingDTO, String bookingReference) {
+        if (!claimBookingReference(bookingReference)) {
+            throw new BusinessException("Booking reference already in use: " + bookingReference);
+        }
+        return create(bookingDTO, bookingReference);
+    }
+
+    // The partitioned table only enforces (booking_reference, created_at). The advisory lock
+    // serializes transactions claiming the same reference until commit, and the check is pruned
+    // to the partitions around the time embedded in the reference.
+    private boolean claimBookingReference(String bookingReference) {
+        bookingRepository.lockBookingReference(bookingReference);
+        return !bookingRepository.isBookingReferenceTaken(bookingReference);
+    }
+
+    private BookingDTO create(BookingDTO bookingDTO, String bookingReference) {
+        log.info("Creating booking {} for flight: {}", bookingReference, bookingDTO.getFlightId());
 
         Flight flight = flightRepository.findById(bookingDTO.getFlightId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
@@ -52,9 +95,11 @@ public class BookingService {
         if (!flightService.decreaseAvailableSeats(flight.getId(), bookingDTO.getNumberOfSeats())) {
             throw new BusinessException("Failed to book seats");
         }
+        List<String> seats = seatMapService.assignSeats(flight, bookingDTO.getNumberOfSeats());
+        routeSummaryService.seatsBooked(flight, bookingDTO.getNumberOfSeats());
 
         Booking booking = Booking.builder()
-                .bookingReference(generateBookingReference())
+                .bookingReference(bookingReference)
                 .user(user)
                 .flight(flight)
                 .passengerFirstName(bookingDTO.getPassengerFirstName())
@@ -64,6 +109,7 @@ public class BookingService {
                 .numberOfSeats(bookingDTO.getNumberOfSeats())
                 .totalPrice(flight.getPrice().multiply(BigDecimal.valueOf(bookingDTO.getNumberOfSeats())))
                 .status(Booking.BookingStatus.CONFIRMED)
+                .assignedSeats(String.join(SeatMapService.SEAT_SEPARATOR, seats))
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
@@ -72,22 +118,32 @@ public class BookingService {
         return convertToDTO(savedBooking);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "bookings", key = "'ref:' + #reference", unless = "#result == null")
     public BookingDTO getBookingByReference(String reference) {
         log.info("Fetching booking with reference: {} from database", reference);
-        Booking booking = bookingRepository.findByBookingReference(reference)
+        // Bookings of archived flights and partitions are read through from bookings_archive
+        return bookingRepository.findDtoByBookingReference(reference)
+                .or(() -> bookingArchiveRepository.findDtoByBookingReference(reference))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        return convertToDTO(booking);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "userBookings", key = "#userId", unless = "#result == null || #result.isEmpty()")
     public List<BookingDTO> getUserBookings(Long userId) {
         log.info("Fetching bookings for user: {} from database", userId);
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        return bookings.stream().map(this::convertToDTO).toList();
+        return bookingRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookingDTO> getUserBookings(Long userId, Pageable pageable) {
+        log.info("Fetching bookings page {} for user: {}", pageable.getPageNumber(), userId);
+        return bookingRepository.findDtosByUserId(userId, pageable);
     }
 
+    // The cached booking and flight DTOs carry the ETags clients revalidate against
     @Transactional
+    @CacheEvict(value = "bookings", key = "'ref:' + #bookingReference")
     public void cancelBooking(String bookingReference) {
         log.info("Cancelling booking: {}", bookingReference);
         Booking booking = bookingRepository.findByBookingReference(bookingReference)
@@ -103,10 +159,40 @@ public class BookingService {
         Flight flight = booking.getFlight();
         flight.setAvailableSeats(flight.getAvailableSeats() + booking.getNumberOfSeats());
         flightRepository.save(flight);
+        seatMapService.releaseSeats(flight, booking.getAssignedSeats());
+        routeSummaryService.seatsReleased(flight, booking.getNumberOfSeats());
+        flightCacheEvictor.evictFlight(flight.getId(), flight.getFlightNumber());
+        // Search results filter on available seats, so the route's cached searches are stale too
+        afterCommit(() -> flightCacheEvictor.evictRouteSearches(flight.getOrigin(), flight.getDestination()));
+        evictUserBookings(booking.getUser().getId());
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(flight.getId(), flight.getAvailableSeats()));
+    }
+
+    // The userBookings cache is transaction aware, so the eviction runs once the cancel has committed
+    private void evictUserBookings(Long userId) {
+        Cache cache = cacheManager.getCache("userBookings");
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+
+    // Route searches are deleted straight from Redis; doing it before commit would let a concurrent
+    // search cache the old seat count again
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private String generateBookingReference() {
-        return "BK" + System.currentTimeMillis() + SECURE_RANDOM.nextInt(1000);
+        return BookingReference.generate();
     }
 
     private BookingDTO convertToDTO(Booking booking) {
@@ -124,6 +210,8 @@ public class BookingService {
                 .totalPrice(booking.getTotalPrice())
                 .status(booking.getStatus().name())
                 .createdAt(booking.getCreatedAt())
+                .assignedSeats(booking.getAssignedSeats())
+                .updatedAt(booking.getUpdatedAt())
                 .build();
     }
 }
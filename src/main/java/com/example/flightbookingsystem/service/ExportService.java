@@ -0,0 +1,132 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.repository.BookingRepository;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+    private static final List<String> FLIGHT_COLUMNS = List.of(
+            "id", "flightNumber", "airline", "origin", "destination", "departureTime",
+            "arrivalTime", "totalSeats", "availableSeats", "price", "status");
+
+    private static final List<String> BOOKING_COLUMNS = List.of(
+            "id", "bookingReference", "userId", "flightId", "flightNumber", "passengerFirstName",
+            "passengerLastName", "passengerEmail", "passengerPhone", "numberOfSeats", "totalPrice",
+            "status", "createdAt", "assignedSeats");
+
+    private final FlightRepository flightRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportFlights(OutputStream out, ExportFormat format) throws IOException {
+        log.info("Exporting flights as {}", format);
+        try (Stream<FlightDTO> flights = flightRepository.streamAllForExport()) {
+            long rows = format == ExportFormat.CSV
+                    ? writeCsv(out, flights.iterator(), FLIGHT_COLUMNS, ExportService::flightRow)
+                    : writeNdjson(out, flights.iterator(), FlightDTO.class);
+            log.info("Exported {} flights", rows);
+            return rows;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBookings(OutputStream out, ExportFormat format) throws IOException {
+        log.info("Exporting bookings as {}", format);
+        try (Stream<BookingDTO> bookings = bookingRepository.streamAllForExport()) {
+            long rows = format == ExportFormat.CSV
+                    ? writeCsv(out, bookings.iterator(), BOOKING_COLUMNS, ExportService::bookingRow)
+                    : writeNdjson(out, bookings.iterator(), BookingDTO.class);
+            log.info("Exported {} bookings", rows);
+            return rows;
+        }
+    }
+
+    private <T> long writeNdjson(OutputStream out, Iterator<T> rows, Class<T> type) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(OutputStream out, Iterator<T> rows, List<String> header,
+                              Function<T, List<Object>> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, header);
+        long count = 0;
+        while (rows.hasNext()) {
+            writeCsvLine(writer, columns.apply(rows.next()));
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<Object> flightRow(FlightDTO flight) {
+        return Arrays.asList(
+                flight.getId(), flight.getFlightNumber(), flight.getAirline(), flight.getOrigin(),
+                flight.getDestination(), flight.getDepartureTime(), flight.getArrivalTime(),
+                flight.getTotalSeats(), flight.getAvailableSeats(), flight.getPrice(), flight.getStatus());
+    }
+
+    private static List<Object> bookingRow(BookingDTO booking) {
+        return Arrays.asList(
+                booking.getId(), booking.getBookingReference(), booking.getUserId(), booking.getFlightId(),
+                booking.getFlightNumber(), booking.getPassengerFirstName(), booking.getPassengerLastName(),
+                booking.getPassengerEmail(), booking.getPassengerPhone(), booking.getNumberOfSeats(),
+                booking.getTotalPrice(), booking.getStatus(), booking.getCreatedAt(),
+                booking.getAssignedSeats());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.flightbookingsystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves completed flights older than the retention period, with their bookings, into
+ * flights_archive and bookings_archive. Each batch is one short transaction that locks only the
+ * flights it moves, so live inventory stays writable while the job runs.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.flights.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightArchiver {
+    private static final String FLIGHT_COLUMNS = "id, flight_number, airline, origin, destination, departure_time, "
+            + "arrival_time, total_seats, available_seats, price, status, created_at, updated_at";
+
+    static final String BOOKING_COLUMNS = "id, booking_reference, user_id, flight_id, passenger_first_name, "
+            + "passenger_last_name, passenger_email, passenger_phone, number_of_seats, total_price, status, "
+            + "created_at, updated_at, assigned_seats";
+
+    private static final String SELECT_BATCH = "SELECT id, flight_number FROM flights "
+            + "WHERE status = 'COMPLETED' AND arrival_time < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String MOVE_BOOKINGS = "WITH moved AS (DELETE FROM bookings WHERE flight_id = ANY (?) "
+            + "RETURNING " + BOOKING_COLUMNS + ") INSERT INTO bookings_archive (" + BOOKING_COLUMNS + ") "
+            + "SELECT " + BOOKING_COLUMNS + " FROM moved";
+
+    // Seat maps of the moved flights go with them through ON DELETE CASCADE
+    private static final String MOVE_FLIGHTS = "WITH moved AS (DELETE FROM flights WHERE id = ANY (?) "
+            + "RETURNING " + FLIGHT_COLUMNS + ") INSERT INTO flights_archive (" + FLIGHT_COLUMNS + ") "
+            + "SELECT " + FLIGHT_COLUMNS + " FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FlightCacheEvictor flightCacheEvictor;
+    private final FlightSuggestionIndex flightSuggestionIndex;
+    private final Counter flightsMoved;
+    private final Counter bookingsMoved;
+    private final Timer batchTimer;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private record ArchivedFlight(Long id, String flightNumber) {
+    }
+
+    private record Batch(List<ArchivedFlight> flights, int bookings) {
+    }
+
+    public record Result(int flights, int bookings) {
+    }
+
+    public FlightArchiver(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          FlightCacheEvictor flightCacheEvictor,
+                          FlightSuggestionIndex flightSuggestionIndex,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.flights.archive.retention-days:90}") int retentionDays,
+                          @Value("${app.flights.archive.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.flightCacheEvictor = flightCacheEvictor;
+        this.flightSuggestionIndex = flightSuggestionIndex;
+        this.flightsMoved = meterRegistry.counter("archive.flights.moved");
+        this.bookingsMoved = meterRegistry.counter("archive.bookings.moved");
+        // A batch holds its row locks until commit, so its duration is the lock time
+        this.batchTimer = Timer.builder("archive.batch.duration")
+                .description("Time each archive batch holds its locks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(cron = "${app.flights.archive.cron:0 0 4 * * *}")
+    public Result archive() {
+        return archive(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    public Result archive(LocalDateTime arrivedBefore) {
+        int flights = 0;
+        int bookings = 0;
+        Batch batch;
+        do {
+            batch = batchTimer.record(() -> transactionTemplate.execute(status -> moveBatch(arrivedBefore)));
+            batch.flights().forEach(flight -> flightCacheEvictor.evictFlight(flight.id(), flight.flightNumber()));
+            flightsMoved.increment(batch.flights().size());
+            bookingsMoved.increment(batch.bookings());
+            flights += batch.flights().size();
+            bookings += batch.bookings();
+        } while (batch.flights().size() == batchSize);
+
+        if (flights > 0) {
+            flightSuggestionIndex.rebuild();
+            log.info("Archived {} flights and {} bookings that arrived before {}", flights, bookings, arrivedBefore);
+        }
+        return new Result(flights, bookings);
+    }
+
+    private Batch moveBatch(LocalDateTime arrivedBefore) {
+        List<ArchivedFlight> flights = jdbcTemplate.query(SELECT_BATCH,
+                (rs, rowNum) -> new ArchivedFlight(rs.getLong("id"), rs.getString("flight_number")),
+                Timestamp.valueOf(arrivedBefore), batchSize);
+        if (flights.isEmpty()) {
+            return new Batch(flights, 0);
+        }
+        Long[] ids = flights.stream().map(ArchivedFlight::id).toArray(Long[]::new);
+        int bookings = jdbcTemplate.update(MOVE_BOOKINGS, ps -> ps.setArray(1, idArray(ps.getConnection(), ids)));
+        jdbcTemplate.update(MOVE_FLIGHTS, ps -> ps.setArray(1, idArray(ps.getConnection(), ids)));
+        return new Batch(flights, bookings);
+    }
+
+    private static Array idArray(Connection connection, Long[] ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.flightbookingsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Evicts the cache entries of individual flights and routes, for bulk jobs where clearing the
+ * whole flights and flightSearches caches would throw away the hot working set.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightCacheEvictor {
+    private static final int SCAN_BATCH = 500;
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public void evictFlight(Long id, String flightNumber) {
+        evict("flights", id);
+        evict("flights", "number:" + flightNumber);
+        evict("flightResponses", id);
+        evict("seatMaps", id);
+    }
+
+    // Search keys start with origin and destination, see FlightSearchRequest.cacheKey() and
+    // ResponseCacheFilter.cacheKey()
+    public long evictRouteSearches(String origin, String destination) {
+        String route = origin.trim().toUpperCase(Locale.ROOT) + ":" + destination.trim().toUpperCase(Locale.ROOT) + ":*";
+        Long deleted = redisTemplate.execute((RedisCallback<Long>) connection ->
+                deleteMatching(connection, "flightSearches::" + route)
+                        + deleteMatching(connection, "searchResponses::" + route));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    // SCAN rather than KEYS so Redis is never blocked on a large keyspace
+    private static long deleteMatching(RedisConnection connection, String pattern) {
+        long deleted = 0;
+        List<byte[]> batch = new ArrayList<>(SCAN_BATCH);
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH).build();
+        try (Cursor<byte[]> keys = connection.keyCommands().scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SCAN_BATCH) {
+                    deleted += delete(connection, batch);
+                }
+            }
+        }
+        return deleted + delete(connection, batch);
+    }
+
+    private static long delete(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = connection.keyCommands().del(keys.toArray(byte[][]::new));
+        keys.clear();
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightImportResultDTO;
+import com.example.flightbookingsystem.event.FlightsImportedEvent;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bulk schedule import. Rows are parsed and validated one at a time and streamed through COPY
+ * into a temporary staging table, which is then merged into flights with a single upsert.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightImportService {
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "flightNumber", "airline", "origin", "destination", "departureTime", "arrivalTime",
+            "totalSeats", "availableSeats", "price");
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE flight_import_staging (
+                line_number     BIGINT         NOT NULL,
+                flight_number   VARCHAR(10)    NOT NULL,
+                airline         VARCHAR(100)   NOT NULL,
+                origin          VARCHAR(3)     NOT NULL,
+                destination     VARCHAR(3)     NOT NULL,
+                departure_time  TIMESTAMP      NOT NULL,
+                arrival_time    TIMESTAMP      NOT NULL,
+                total_seats     INT            NOT NULL,
+                available_seats INT            NOT NULL,
+                price           DECIMAL(10, 2) NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_INTO_STAGING = "COPY flight_import_staging (line_number, flight_number, "
+            + "airline, origin, destination, departure_time, arrival_time, total_seats, available_seats, price) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    // The last row for a flight number wins. Seat counts of existing flights are left alone
+    // because bookings already depend on them.
+    private static final String MERGE_INTO_FLIGHTS = """
+            INSERT INTO flights (flight_number, airline, origin, destination, departure_time, arrival_time,
+                                 total_seats, available_seats, price, status, created_at, updated_at)
+            SELECT DISTINCT ON (flight_number)
+                   flight_number, airline, origin, destination, departure_time, arrival_time,
+                   total_seats, available_seats, price, 'SCHEDULED', now(), now()
+            FROM flight_import_staging
+            ORDER BY flight_number, line_number DESC
+            ON CONFLICT (flight_number) DO UPDATE SET
+                airline = EXCLUDED.airline,
+                origin = EXCLUDED.origin,
+                destination = EXCLUDED.destination,
+                departure_time = EXCLUDED.departure_time,
+                arrival_time = EXCLUDED.arrival_time,
+                price = EXCLUDED.price,
+                updated_at = now()""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = {"flights", "flightResponses"}, allEntries = true),
+        @CacheEvict(value = {"flightSearches", "searchResponses"}, allEntries = true)
+    })
+    public FlightImportResultDTO importFlights(InputStream in, ExportFormat format) {
+        log.info("Importing flight schedule as {}", format);
+        long started = System.nanoTime();
+
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        ImportRun run = jdbcTemplate.execute((ConnectionCallback<ImportRun>) connection -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), COPY_INTO_STAGING, COPY_BUFFER_SIZE);
+            try (Writer staging = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                ImportRun importRun = new ImportRun(staging);
+                if (format == ExportFormat.CSV) {
+                    readCsv(reader, importRun);
+                } else {
+                    readNdjson(reader, importRun);
+                }
+                return importRun;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        int upserted = jdbcTemplate.update(MERGE_INTO_FLIGHTS);
+        eventPublisher.publishEvent(new FlightsImportedEvent(upserted));
+
+        long durationMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} rows ({} rejected, {} flights upserted) in {} ms",
+                run.rowsRead, run.rowsRejected, upserted, durationMillis);
+        return FlightImportResultDTO.builder()
+                .rowsRead(run.rowsRead)
+                .rowsRejected(run.rowsRejected)
+                .flightsUpserted(upserted)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(run.rowsRead * 1000 / durationMillis)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        ObjectReader flightReader = objectMapper.readerFor(FlightDTO.class);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            try {
+                run.accept(lineNumber, flightReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+
+        List<String> record;
+        long lineNumber = 1;
+        while ((record = readCsvRecord(reader)) != null) {
+            lineNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            try {
+                run.accept(lineNumber, FlightDTO.builder()
+                        .flightNumber(value(record, columns, "flightNumber"))
+                        .airline(value(record, columns, "airline"))
+                        .origin(value(record, columns, "origin"))
+                        .destination(value(record, columns, "destination"))
+                        .departureTime(parse(value(record, columns, "departureTime"), LocalDateTime::parse))
+                        .arrivalTime(parse(value(record, columns, "arrivalTime"), LocalDateTime::parse))
+                        .totalSeats(parse(value(record, columns, "totalSeats"), Integer::valueOf))
+                        .availableSeats(parse(value(record, columns, "availableSeats"), Integer::valueOf))
+                        .price(parse(value(record, columns, "price"), BigDecimal::new))
+                        .build());
+            } catch (RuntimeException e) {
+                run.reject(lineNumber, "unreadable value: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record, the format ExportService writes. Quoted fields may contain
+     * commas, doubled quotes and line breaks. Returns null at end of input.
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        String value = index < record.size() ? record.get(index) : "";
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value.trim());
+    }
+
+    private class ImportRun {
+        private final Writer staging;
+        private final List<String> errors = new ArrayList<>();
+        private long rowsRead;
+        private long rowsRejected;
+
+        ImportRun(Writer staging) {
+            this.staging = staging;
+        }
+
+        void accept(long lineNumber, FlightDTO flight) throws IOException {
+            Set<ConstraintViolation<FlightDTO>> violations = validator.validate(flight);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<FlightDTO> violation = violations.iterator().next();
+                reject(lineNumber, violation.getPropertyPath() + " " + violation.getMessage());
+                return;
+            }
+            if (!flight.getArrivalTime().isAfter(flight.getDepartureTime())) {
+                reject(lineNumber, "arrivalTime must be after departureTime");
+                return;
+            }
+            // Would fail chk_seats in the merge and take every other row down with it
+            if (flight.getAvailableSeats() > flight.getTotalSeats()) {
+                reject(lineNumber, "availableSeats must not exceed totalSeats");
+                return;
+            }
+            staging.write(String.join(",",
+                    Long.toString(lineNumber),
+                    ExportService.escapeCsv(flight.getFlightNumber()),
+                    ExportService.escapeCsv(flight.getAirline()),
+                    ExportService.escapeCsv(flight.getOrigin()),
+                    ExportService.escapeCsv(flight.getDestination()),
+                    flight.getDepartureTime().toString(),
+                    flight.getArrivalTime().toString(),
+                    flight.getTotalSeats().toString(),
+                    flight.getAvailableSeats().toString(),
+                    flight.getPrice().toPlainString()));
+            staging.write('\n');
+        }
+
+        void reject(long lineNumber, String reason) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("row " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
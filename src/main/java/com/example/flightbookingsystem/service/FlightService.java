@@ -2,6 +2,10 @@ package com.example.flightbookingsystem.service;
 
 
 import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.event.SeatAvailabilityChangedEvent;
+import com.example.flightbookingsystem.exception.BusinessException;
 import com.example.flightbookingsystem.exception.ResourceNotFoundException;
 import com.example.flightbookingsystem.model.Flight;
 import com.example.flightbookingsystem.repository.FlightRepository;
@@ -10,10 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,82 +27,111 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class FlightService {
+    private static final Duration MAX_OVERNIGHT_WINDOW = Duration.ofHours(12);
+
     private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "flights", key = "#id", unless = "#result == null")
     public FlightDTO getFlightById(Long id) {
         log.info("Fetching flight with id: {} from database", id);
-        Flight flight = flightRepository.findById(id)
+        return flightRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
-        return convertToDTO(flight);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "flights", key = "'number:' + #flightNumber", unless = "#result == null")
     public FlightDTO getFlightByNumber(String flightNumber) {
         log.info("Fetching flight with number: {} from database", flightNumber);
-        Flight flight = flightRepository.findByFlightNumber(flightNumber)
+        return flightRepository.findDtoByFlightNumber(flightNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with number: " + flightNumber));
-        return convertToDTO(flight);
     }
 
-    @Cacheable(value = "flightSearches",
-            key = "#origin + ':' + #destination + ':' + #departureTime + ':' + #seats",
-            unless = "#result == null || #result.isEmpty()")
-    public List<FlightDTO> searchFlights(String origin, String destination, LocalDateTime departureTime, Integer seats) {
-        log.info("Searching flights from {} to {} on {} for {} seats - from database",
-                origin, destination, departureTime, seats);
-        List<Flight> flights = flightRepository.searchAvailableFlights(origin, destination, departureTime, seats);
-        return flights.stream().map(this::convertToDTO).toList();
+    @Transactional(readOnly = true)
+    @Cacheable(value = "flightSearches", key = "#request.cacheKey()", unless = "#result == null || #result.isEmpty()")
+    public List<FlightDTO> searchFlights(FlightSearchRequest request) {
+        log.info("Searching flights for {} - from database", request.cacheKey());
+        validateSearchRanges(request);
+        return flightRepository.searchAvailableFlights(request.normalized());
+    }
+
+    private void validateSearchRanges(FlightSearchRequest request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new BusinessException("minPrice must not exceed maxPrice");
+        }
+        validateTimeOfDayWindow("departure", request.getDepartureFrom(), request.getDepartureTo());
+        validateTimeOfDayWindow("arrival", request.getArrivalFrom(), request.getArrivalTo());
+    }
+
+    // A window whose start is after its end wraps past midnight (22:00-02:00). One that would
+    // cover more than half the day that way, such as 14:00-10:00, has its bounds swapped.
+    private void validateTimeOfDayWindow(String name, LocalTime from, LocalTime to) {
+        if (from == null || to == null || !from.isAfter(to)) {
+            return;
+        }
+        Duration overnight = Duration.ofDays(1).minus(Duration.between(to, from));
+        if (overnight.compareTo(MAX_OVERNIGHT_WINDOW) > 0) {
+            throw new BusinessException(name + "From must not be after " + name + "To, "
+                    + "unless the window wraps past midnight for at most " + MAX_OVERNIGHT_WINDOW.toHours() + " hours");
+        }
     }
 
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "flights", allEntries = true),
-        @CacheEvict(value = "flightSearches", allEntries = true)
+        @CacheEvict(value = {"flights", "flightResponses"}, allEntries = true),
+        @CacheEvict(value = {"flightSearches", "searchResponses"}, allEntries = true)
     })
     public FlightDTO createFlight(FlightDTO flightDTO) {
         log.info("Creating new flight: {}", flightDTO.getFlightNumber());
         Flight flight = convertToEntity(flightDTO);
         flight.setStatus(Flight.FlightStatus.SCHEDULED);
-        Flight savedFlight = flightRepository.save(flight);
+        FlightDTO created = convertToDTO(flightRepository.save(flight));
+        eventPublisher.publishEvent(FlightChangedEvent.created(created));
         log.info("Flight created successfully, cache invalidated");
-        return convertToDTO(savedFlight);
+        return created;
     }
 
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "flights", key = "#id"),
-        @CacheEvict(value = "flightSearches", allEntries = true)
+        @CacheEvict(value = "flightResponses", key = "#id"),
+        @CacheEvict(value = {"flightSearches", "searchResponses"}, allEntries = true)
     })
     public FlightDTO updateFlight(Long id, FlightDTO flightDTO) {
         log.info("Updating flight with id: {}", id);
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
 
+        FlightDTO previous = convertToDTO(flight);
         updateFlightFromDTO(flight, flightDTO);
-        Flight updatedFlight = flightRepository.save(flight);
+        FlightDTO updated = convertToDTO(flightRepository.save(flight));
+        eventPublisher.publishEvent(FlightChangedEvent.updated(previous, updated));
         log.info("Flight updated successfully, cache invalidated");
-        return convertToDTO(updatedFlight);
+        return updated;
     }
 
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "flights", key = "#id"),
-        @CacheEvict(value = "flightSearches", allEntries = true)
+        @CacheEvict(value = "flightResponses", key = "#id"),
+        @CacheEvict(value = {"flightSearches", "searchResponses"}, allEntries = true)
     })
     public void deleteFlight(Long id) {
         log.info("Deleting flight with id: {}", id);
-        if (!flightRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Flight not found with id: " + id);
-        }
-        flightRepository.deleteById(id);
+        Flight flight = flightRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+        flightRepository.delete(flight);
+        eventPublisher.publishEvent(FlightChangedEvent.deleted(convertToDTO(flight)));
         log.info("Flight deleted successfully, cache invalidated");
     }
 
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "flights", key = "#flightId"),
-        @CacheEvict(value = "flightSearches", allEntries = true)
+        @CacheEvict(value = "flightResponses", key = "#flightId"),
+        @CacheEvict(value = {"flightSearches", "searchResponses"}, allEntries = true)
     })
     public boolean decreaseAvailableSeats(Long flightId, Integer seats) {
         log.info("Decreasing available seats for flight: {} by {}", flightId, seats);
@@ -111,6 +146,7 @@ public class FlightService {
 
         flight.setAvailableSeats(flight.getAvailableSeats() - seats);
         flightRepository.save(flight);
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(flightId, flight.getAvailableSeats()));
         log.info("Seats decreased successfully, cache invalidated");
         return true;
     }
@@ -128,6 +164,7 @@ public class FlightService {
                 .availableSeats(flight.getAvailableSeats())
                 .price(flight.getPrice())
                 .status(flight.getStatus().name())
+                .updatedAt(flight.getUpdatedAt())
                 .build();
     }
 
@@ -0,0 +1,122 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.model.Flight;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves flights whose departure time has passed to DEPARTED, and departed flights whose arrival
+ * time has passed to COMPLETED. Each transition runs as chunked UPDATE statements in their own
+ * short transactions; no flight entity is loaded. SKIP LOCKED leaves rows that a booking is
+ * holding to the next run.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.flights.lifecycle", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightStatusLifecycle {
+    private static final String TRANSITION = """
+            UPDATE flights SET status = ?, updated_at = ?
+            WHERE id IN (SELECT id FROM flights
+                         WHERE status IN (%s) AND %s < ?
+                         ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id, flight_number, origin, destination""";
+
+    private static final String DEPART = TRANSITION.formatted("'SCHEDULED', 'DELAYED'", "departure_time");
+    private static final String COMPLETE = TRANSITION.formatted("'DEPARTED'", "arrival_time");
+
+    private static final RowMapper<MovedFlight> MOVED_FLIGHT = (rs, rowNum) -> new MovedFlight(
+            rs.getLong("id"), rs.getString("flight_number"), rs.getString("origin"), rs.getString("destination"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RouteSummaryService routeSummaryService;
+    private final FlightCacheEvictor flightCacheEvictor;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+
+    public record MovedFlight(Long id, String flightNumber, String origin, String destination) {
+    }
+
+    public record Result(int departed, int completed) {
+    }
+
+    private record Route(String origin, String destination) {
+    }
+
+    public FlightStatusLifecycle(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 RouteSummaryService routeSummaryService,
+                                 FlightCacheEvictor flightCacheEvictor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.flights.lifecycle.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.routeSummaryService = routeSummaryService;
+        this.flightCacheEvictor = flightCacheEvictor;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.flights.lifecycle.interval-ms:60000}")
+    public Result advance() {
+        return advance(LocalDateTime.now());
+    }
+
+    public Result advance(LocalDateTime now) {
+        int departed = transition(DEPART, Flight.FlightStatus.DEPARTED, now);
+        int completed = transition(COMPLETE, Flight.FlightStatus.COMPLETED, now);
+        if (departed > 0 || completed > 0) {
+            log.info("Flight lifecycle moved {} flights to DEPARTED and {} to COMPLETED", departed, completed);
+        }
+        return new Result(departed, completed);
+    }
+
+    private int transition(String sql, Flight.FlightStatus target, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int moved = 0;
+        List<MovedFlight> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<MovedFlight> rows = jdbcTemplate.query(sql, MOVED_FLIGHT,
+                        target.name(), timestamp, timestamp, chunkSize);
+                // Departed flights are no longer bookable; their routes are recounted with the update
+                if (target == Flight.FlightStatus.DEPARTED) {
+                    routes(rows).forEach(route -> routeSummaryService.refreshRoute(route.origin(), route.destination()));
+                }
+                return rows;
+            });
+            evict(chunk, target);
+            moved += chunk.size();
+        } while (chunk.size() == chunkSize);
+
+        meterRegistry.counter("flights.status.transitions", "status", target.name()).increment(moved);
+        return moved;
+    }
+
+    private void evict(List<MovedFlight> flights, Flight.FlightStatus target) {
+        flights.forEach(flight -> flightCacheEvictor.evictFlight(flight.id(), flight.flightNumber()));
+        // Only SCHEDULED flights are searchable, so completing a departed flight changes no search
+        if (target == Flight.FlightStatus.DEPARTED) {
+            routes(flights).forEach(route -> flightCacheEvictor.evictRouteSearches(route.origin(), route.destination()));
+        }
+    }
+
+    private static Set<Route> routes(List<MovedFlight> flights) {
+        Set<Route> routes = new LinkedHashSet<>();
+        flights.forEach(flight -> routes.add(new Route(flight.origin(), flight.destination())));
+        return routes;
+    }
+}
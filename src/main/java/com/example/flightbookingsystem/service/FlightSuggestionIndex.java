@@ -0,0 +1,131 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSuggestionDTO;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.event.FlightsImportedEvent;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Prefix lookup over airport codes and flight numbers for the search box typeahead.
+ *
+ * <p>Queries binary-search immutable sorted arrays and never touch the database. Writers
+ * update the backing tree structures under a lock and publish fresh arrays.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightSuggestionIndex {
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final String[] EMPTY = new String[0];
+
+    private final FlightRepository flightRepository;
+
+    // Airports are shared by many flights, so they are reference counted.
+    private final NavigableMap<String, Integer> airportCounts = new TreeMap<>();
+    private final NavigableSet<String> flightNumberSet = new TreeSet<>();
+
+    private volatile String[] airports = EMPTY;
+    private volatile String[] flightNumbers = EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // The lock is taken before the query, so a change handled after the snapshot waits and is
+        // applied on top of the rebuilt index instead of being wiped by clear()
+        synchronized (this) {
+            try (Stream<FlightRepository.FlightCodes> codes = flightRepository.streamFlightCodes()) {
+                airportCounts.clear();
+                flightNumberSet.clear();
+                codes.forEach(code -> add(code.getFlightNumber(), code.getOrigin(), code.getDestination()));
+                publish();
+            }
+        }
+        log.info("Suggestion index built with {} airports and {} flight numbers", airports.length, flightNumbers.length);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        synchronized (this) {
+            FlightDTO previous = event.previous();
+            FlightDTO current = event.current();
+            if (previous != null) {
+                remove(previous.getFlightNumber(), previous.getOrigin(), previous.getDestination());
+            }
+            if (current != null) {
+                add(current.getFlightNumber(), current.getOrigin(), current.getDestination());
+            }
+            publish();
+        }
+    }
+
+    // Bulk imports change too many flights to apply one by one, so the index is rebuilt. The
+    // listener runs after commit and needs its own transaction for the streaming query.
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onFlightsImported(FlightsImportedEvent event) {
+        rebuild();
+    }
+
+    public FlightSuggestionDTO suggest(String query, int limit) {
+        String prefix = query == null ? "" : query.trim().toUpperCase(Locale.ROOT);
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        if (prefix.isEmpty()) {
+            return FlightSuggestionDTO.builder().airports(List.of()).flightNumbers(List.of()).build();
+        }
+        return FlightSuggestionDTO.builder()
+                .airports(prefixMatches(airports, prefix, max))
+                .flightNumbers(prefixMatches(flightNumbers, prefix, max))
+                .build();
+    }
+
+    static List<String> prefixMatches(String[] sorted, String prefix, int max) {
+        int index = Arrays.binarySearch(sorted, prefix);
+        int start = index >= 0 ? index : -index - 1;
+        List<String> matches = new ArrayList<>(Math.min(max, sorted.length - start));
+        for (int i = start; i < sorted.length && matches.size() < max && sorted[i].startsWith(prefix); i++) {
+            matches.add(sorted[i]);
+        }
+        return matches;
+    }
+
+    private void add(String flightNumber, String origin, String destination) {
+        flightNumberSet.add(normalize(flightNumber));
+        airportCounts.merge(normalize(origin), 1, Integer::sum);
+        airportCounts.merge(normalize(destination), 1, Integer::sum);
+    }
+
+    private void remove(String flightNumber, String origin, String destination) {
+        flightNumberSet.remove(normalize(flightNumber));
+        airportCounts.computeIfPresent(normalize(origin), (code, count) -> count > 1 ? count - 1 : null);
+        airportCounts.computeIfPresent(normalize(destination), (code, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void publish() {
+        airports = airportCounts.keySet().toArray(EMPTY);
+        flightNumbers = flightNumberSet.toArray(EMPTY);
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
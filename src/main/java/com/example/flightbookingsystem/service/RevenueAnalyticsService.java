@@ -0,0 +1,91 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.RevenueReportDTO;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.repository.DailyRevenueRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue, seats sold and load factor by departure day, airline and route. Reports read the
+ * daily_revenue_rollups table only; the rollups are rebuilt by the database from flights and
+ * bookings, so no booking rows are loaded into the application.
+ *
+ * <p>Where the archive tables exist, rebuilds include archived flights and bookings. Without
+ * them, days older than the flight archive retention are refused, since their rows may have
+ * been moved and the rebuild would erase their history. The scheduled refresh covers recent and
+ * upcoming departures, the only days whose bookings still change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueAnalyticsService {
+    private static final int MAX_REFRESH_DAYS = 731;
+
+    private final DailyRevenueRollupRepository rollupRepository;
+
+    @Value("${app.analytics.rollups.days-back:7}")
+    private int daysBack;
+
+    @Value("${app.analytics.rollups.days-ahead:365}")
+    private int daysAhead;
+
+    // The archive tables exist exactly where the booking archive read-through is enabled
+    @Value("${app.bookings.archive.lookup-enabled:true}")
+    private boolean includeArchive;
+
+    @Value("${app.flights.archive.retention-days:90}")
+    private int archiveRetentionDays;
+
+    @Scheduled(cron = "${app.analytics.rollups.cron:0 15 * * * *}")
+    @Transactional
+    public void refreshRecentRollups() {
+        LocalDate today = LocalDate.now();
+        refreshRollups(today.minusDays(daysBack), today.plusDays(daysAhead));
+    }
+
+    /** Rebuilds the rollups of departure days {@code from} to {@code to}, both inclusive. */
+    @Transactional
+    public int refreshRollups(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (from.plusDays(MAX_REFRESH_DAYS).isBefore(to)) {
+            throw new BusinessException("Rollups can be refreshed for at most " + MAX_REFRESH_DAYS + " days at once");
+        }
+        LocalDate oldestLive = LocalDate.now().minusDays(archiveRetentionDays);
+        if (!includeArchive && from.isBefore(oldestLive)) {
+            throw new BusinessException("Rollups before " + oldestLive + " may cover archived flights and "
+                    + "can't be rebuilt without the archive tables");
+        }
+        LocalDate end = to.plusDays(1);
+        rollupRepository.deleteRange(from, end);
+        int rows = includeArchive
+                ? rollupRepository.insertRollupsWithArchive(from.atStartOfDay(), end.atStartOfDay())
+                : rollupRepository.insertRollups(from.atStartOfDay(), end.atStartOfDay());
+        log.info("Rebuilt {} revenue rollups for {} to {}", rows, from, to);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevenueReportDTO> getRevenueReport(RevenueReportDTO.GroupBy groupBy, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        log.info("Building revenue report by {} for {} to {}", groupBy, from, to);
+        return switch (groupBy) {
+            case DAY -> rollupRepository.reportByDay(from, to);
+            case AIRLINE -> rollupRepository.reportByAirline(from, to);
+            case ROUTE -> rollupRepository.reportByRoute(from, to);
+        };
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+    }
+}
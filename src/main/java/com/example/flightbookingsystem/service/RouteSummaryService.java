@@ -0,0 +1,117 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.RouteSummaryDTO;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.event.FlightsImportedEvent;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.RouteSummary;
+import com.example.flightbookingsystem.repository.RouteSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains route_summary as flights and bookings change. Bookings and cancellations apply a
+ * seat delta to their route; flight writes recompute only the routes they touch, because a
+ * minimum price cannot be maintained by deltas. A periodic reconcile repairs any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteSummaryService {
+    private final RouteSummaryRepository routeSummaryRepository;
+
+    @Transactional(readOnly = true)
+    public List<RouteSummaryDTO> getRouteSummaries() {
+        return routeSummaryRepository.findAll(Sort.by(Sort.Direction.DESC, "flightsCount")
+                        .and(Sort.by("origin", "destination")))
+                .stream()
+                .map(RouteSummaryService::convertToDTO)
+                .toList();
+    }
+
+    @Transactional
+    public void seatsBooked(Flight flight, int seats) {
+        adjustSeats(flight, -seats);
+    }
+
+    @Transactional
+    public void seatsReleased(Flight flight, int seats) {
+        adjustSeats(flight, seats);
+    }
+
+    // Runs inside the flight write's transaction so the summary commits with it
+    @EventListener
+    @Transactional
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightDTO previous = event.previous();
+        FlightDTO current = event.current();
+        if (previous != null) {
+            refreshRoute(previous.getOrigin(), previous.getDestination());
+        }
+        if (current != null && (previous == null || !sameRoute(previous, current))) {
+            refreshRoute(current.getOrigin(), current.getDestination());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onFlightsImported(FlightsImportedEvent event) {
+        reconcile();
+    }
+
+    // Also at startup: the table starts empty on an existing database, and booking deltas only
+    // apply to routes that already have a row
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.routes.summary.reconcile-interval-ms:900000}",
+            initialDelayString = "${app.routes.summary.reconcile-interval-ms:900000}")
+    @Transactional
+    public void reconcile() {
+        int refreshed = routeSummaryRepository.refreshAllRoutes();
+        int removed = routeSummaryRepository.deleteRoutesWithoutFlights();
+        log.info("Route summary reconciled: {} routes refreshed, {} removed", refreshed, removed);
+    }
+
+    @Transactional
+    public void refreshRoute(String origin, String destination) {
+        routeSummaryRepository.refreshRoute(origin, destination);
+        routeSummaryRepository.deleteEmptyRoute(origin, destination);
+    }
+
+    static boolean isBookable(Flight.FlightStatus status) {
+        return status == Flight.FlightStatus.SCHEDULED || status == Flight.FlightStatus.DELAYED;
+    }
+
+    private void adjustSeats(Flight flight, int delta) {
+        if (!isBookable(flight.getStatus())) {
+            return;
+        }
+        routeSummaryRepository.adjustAvailableSeats(flight.getOrigin(), flight.getDestination(), delta);
+    }
+
+    private static boolean sameRoute(FlightDTO a, FlightDTO b) {
+        return Objects.equals(a.getOrigin(), b.getOrigin()) && Objects.equals(a.getDestination(), b.getDestination());
+    }
+
+    private static RouteSummaryDTO convertToDTO(RouteSummary summary) {
+        long total = summary.getTotalSeats();
+        return RouteSummaryDTO.builder()
+                .origin(summary.getOrigin())
+                .destination(summary.getDestination())
+                .flightsCount(summary.getFlightsCount())
+                .totalSeats(total)
+                .availableSeats(summary.getAvailableSeats())
+                .minPrice(summary.getMinPrice())
+                .loadFactor(total == 0 ? 0.0 : (double) (total - summary.getAvailableSeats()) / total)
+                .build();
+    }
+}
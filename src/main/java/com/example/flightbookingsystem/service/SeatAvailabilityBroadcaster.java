@@ -0,0 +1,205 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.event.SeatAvailabilityChangedEvent;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat availability to Server-Sent Events subscribers on this instance.
+ *
+ * <p>Changes to a flight are coalesced: the first one schedules a flush after the coalesce
+ * window and later ones only mark it pending, so a flight sends at most one update per window
+ * however busy it is. The flush reads the committed count back rather than trusting the last
+ * event, because after-commit listeners run on the committing threads and two bookings on one
+ * flight can arrive in the reverse of commit order. Each update is serialized once and the same
+ * frame is written to every subscriber. Idle subscribers are parked async requests and hold no thread.
+ */
+@Component
+@Slf4j
+public class SeatAvailabilityBroadcaster {
+    static final String EVENT_NAME = "availability";
+
+    private final ObjectMapper objectMapper;
+    private final FlightRepository flightRepository;
+    private final long coalesceMillis;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final int threads;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+
+    public SeatAvailabilityBroadcaster(ObjectMapper objectMapper,
+                                       FlightRepository flightRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.flights.availability-stream.coalesce-window:250ms}") Duration coalesceWindow,
+                                       @Value("${app.flights.availability-stream.heartbeat:25s}") Duration heartbeat,
+                                       @Value("${app.flights.availability-stream.timeout:30m}") Duration timeout,
+                                       @Value("${app.flights.availability-stream.threads:2}") int threads) {
+        this.objectMapper = objectMapper;
+        this.flightRepository = flightRepository;
+        this.coalesceMillis = coalesceWindow.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.timeoutMillis = timeout.toMillis();
+        this.threads = Math.max(1, threads);
+        meterRegistry.gauge("flights.availability.subscribers", subscribers);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        start(Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    void start(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        channels.values().forEach(channel -> channel.emitters.forEach(ResponseBodyEmitter::complete));
+        channels.clear();
+    }
+
+    /**
+     * Registers a subscriber and sends it {@code availableSeats} right away, so the client has a
+     * value before the next change. Clients reconnect on their own once the emitter times out.
+     */
+    public SseEmitter subscribe(Long flightId, int availableSeats) {
+        SseEmitter emitter = createEmitter();
+        Channel channel = channels.compute(flightId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel();
+            target.emitters.add(emitter);
+            return target;
+        });
+        subscribers.incrementAndGet();
+
+        Runnable unsubscribe = () -> unsubscribe(flightId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        try {
+            emitter.send(frame(new SeatAvailabilityChangedEvent(flightId, availableSeats)));
+        } catch (IOException e) {
+            unsubscribe.run();
+        }
+        log.debug("Availability subscriber added for flight {}, {} on this flight", flightId, channel.emitters.size());
+        return emitter;
+    }
+
+    // Listens after commit, so subscribers never see seats from a booking that rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        Channel channel = channels.get(event.flightId());
+        if (channel == null) {
+            return;
+        }
+        channel.pendingSeats.set(event.availableSeats());
+        if (channel.flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> flush(event.flightId(), channel), coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    int subscriberCount(Long flightId) {
+        Channel channel = channels.get(flightId);
+        return channel == null ? 0 : channel.emitters.size();
+    }
+
+    private void flush(Long flightId, Channel channel) {
+        // Cleared before reading, so a change arriving during the fan-out schedules the next flush
+        channel.flushScheduled.set(false);
+        Set<ResponseBodyEmitter.DataWithMediaType> frame;
+        try {
+            frame = frame(new SeatAvailabilityChangedEvent(flightId, committedSeats(flightId, channel)));
+        } catch (JsonProcessingException e) {
+            log.error("Couldn't serialize seat availability for flight {}", flightId, e);
+            return;
+        }
+        fanOut(flightId, channel, frame);
+    }
+
+    // Falls back to the last event's count only if the database can't be read
+    private int committedSeats(Long flightId, Channel channel) {
+        int reported = channel.pendingSeats.get();
+        try {
+            return flightRepository.findAvailableSeatsById(flightId).orElse(reported);
+        } catch (DataAccessException e) {
+            log.warn("Couldn't read seat availability for flight {}, sending the last reported count", flightId, e);
+            return reported;
+        }
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("").build();
+        channels.forEach((flightId, channel) -> fanOut(flightId, channel, frame));
+    }
+
+    private void fanOut(Long flightId, Channel channel, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        for (SseEmitter emitter : channel.emitters) {
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter
+                unsubscribe(flightId, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(Long flightId, SseEmitter emitter) {
+        channels.computeIfPresent(flightId, (id, channel) -> {
+            if (channel.emitters.remove(emitter)) {
+                subscribers.decrementAndGet();
+            }
+            return channel.emitters.isEmpty() ? null : channel;
+        });
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(SeatAvailabilityChangedEvent event)
+            throws JsonProcessingException {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(objectMapper.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static final class Channel {
+        private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger pendingSeats = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    }
+}
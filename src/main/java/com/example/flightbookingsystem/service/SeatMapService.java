@@ -0,0 +1,94 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.SeatMapDTO;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.exception.ResourceNotFoundException;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.FlightSeatMap;
+import com.example.flightbookingsystem.model.SeatBitmap;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.example.flightbookingsystem.repository.FlightSeatMapRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seat assignment on top of the per-flight {@link SeatBitmap}. Writers lock the flight's seat map
+ * row, so concurrent bookings on one flight serialize while other flights are unaffected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapService {
+    public static final String SEAT_SEPARATOR = ",";
+
+    private final FlightSeatMapRepository seatMapRepository;
+    private final FlightRepository flightRepository;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "seatMaps", key = "#flightId")
+    public SeatMapDTO getSeatMap(Long flightId) {
+        log.info("Fetching seat map for flight: {} from database", flightId);
+        FlightDTO flight = flightRepository.findDtoById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
+        byte[] occupied = seatMapRepository.findById(flightId)
+                .map(FlightSeatMap::getOccupied)
+                .orElse(new byte[0]);
+        SeatBitmap bitmap = SeatBitmap.fromBytes(flight.getTotalSeats(), occupied);
+
+        return SeatMapDTO.builder()
+                .flightId(flightId)
+                .totalSeats(bitmap.totalSeats())
+                .seatsPerRow(SeatBitmap.SEATS_PER_ROW)
+                .availableSeats(bitmap.freeSeats())
+                .occupied(bitmap.toBytes())
+                .build();
+    }
+
+    @Transactional
+    @CacheEvict(value = "seatMaps", key = "#flight.id")
+    public List<String> assignSeats(Flight flight, int party) {
+        FlightSeatMap seatMap = lockSeatMap(flight.getId());
+        SeatBitmap bitmap = SeatBitmap.fromBytes(flight.getTotalSeats(), seatMap.getOccupied());
+
+        int[] seats = bitmap.allocate(party)
+                .orElseThrow(() -> new BusinessException("Not enough seats available"));
+        seatMap.setOccupied(bitmap.toBytes());
+
+        List<String> labels = SeatBitmap.labels(seats);
+        log.info("Assigned seats {} on flight: {}", labels, flight.getId());
+        return labels;
+    }
+
+    @Transactional
+    @CacheEvict(value = "seatMaps", key = "#flight.id")
+    public void releaseSeats(Flight flight, String assignedSeats) {
+        // Bookings made before seat assignment existed hold no seats
+        if (assignedSeats == null || assignedSeats.isBlank()) {
+            return;
+        }
+        FlightSeatMap seatMap = lockSeatMap(flight.getId());
+        SeatBitmap bitmap = SeatBitmap.fromBytes(flight.getTotalSeats(), seatMap.getOccupied());
+
+        bitmap.release(Arrays.stream(assignedSeats.split(SEAT_SEPARATOR))
+                .mapToInt(SeatBitmap::seatIndex)
+                .toArray());
+        seatMap.setOccupied(bitmap.toBytes());
+        log.info("Released seats {} on flight: {}", assignedSeats, flight.getId());
+    }
+
+    private FlightSeatMap lockSeatMap(Long flightId) {
+        return seatMapRepository.findForUpdate(flightId).orElseGet(() -> {
+            seatMapRepository.createIfAbsent(flightId);
+            return seatMapRepository.findForUpdate(flightId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
+        });
+    }
+}
@@ -3,65 +3,101 @@ package com.example.flightbookingsystem.service;
 import com.example.flightbookingsystem.dto.UserDTO;
 import com.example.flightbookingsystem.exception.ResourceNotFoundException;
 import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.model.UserClaims;
 import com.example.flightbookingsystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "users", key = "#email", unless = "#result == null")
     public UserDTO getUserByEmail(String email) {
         log.info("Fetching user by email: {}", email);
-        User user = userRepository.findByEmail(email)
+        return userRepository.findDtoByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return convertToDTO(user);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "users", key = "#id", unless = "#result == null")
     public UserDTO getUserById(Long id) {
         log.info("Fetching user by id: {}", id);
-        User user = userRepository.findById(id)
+        return userRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return convertToDTO(user);
     }
 
+    /**
+     * Brings the local user in line with the token's claims. The result is cached under the claims
+     * hash, so repeated calls with the same token claims read nothing; the database is written only
+     * when the hash differs from the one stored with the user.
+     */
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
-    public UserDTO createOrUpdateUserFromAuth0(Authentication authentication) {
-        Jwt jwt = (Jwt) authentication.getPrincipal();
-        String email = jwt.getClaimAsString("email");
-        String auth0Id = jwt.getSubject();
+    @Cacheable(value = "users", key = "'claims:' + #claims.hash()")
+    public UserDTO syncUser(UserClaims claims) {
+        String hash = claims.hash();
+        User user = userRepository.findByEmail(claims.email()).orElse(null);
 
-        User user = userRepository.findByEmail(email)
-                .orElse(User.builder()
-                        .email(email)
-                        .auth0Id(auth0Id)
-                        .firstName(jwt.getClaimAsString("given_name"))
-                        .lastName(jwt.getClaimAsString("family_name"))
-                        .role(determineRole(jwt))
-                        .active(true)
-                        .build());
+        if (user == null) {
+            user = userRepository.save(User.builder()
+                    .email(claims.email())
+                    .auth0Id(claims.subject())
+                    .firstName(claims.givenName())
+                    .lastName(claims.familyName())
+                    .role(determineRole(claims.permissions()))
+                    .active(true)
+                    .claimsHash(hash)
+                    .build());
+            log.info("User created from Auth0: {}", claims.email());
+            return convertToDTO(user);
+        }
+
+        if (hash.equals(user.getClaimsHash())) {
+            return convertToDTO(user);
+        }
 
-        user.setAuth0Id(auth0Id);
+        String previousHash = user.getClaimsHash();
+        user.setAuth0Id(claims.subject());
+        if (claims.givenName() != null) {
+            user.setFirstName(claims.givenName());
+        }
+        if (claims.familyName() != null) {
+            user.setLastName(claims.familyName());
+        }
+        user.setClaimsHash(hash);
         user = userRepository.save(user);
+        evictUser(user, previousHash);
 
-        log.info("User synchronized from Auth0: {}", email);
+        log.info("User synchronized from Auth0: {}", claims.email());
         return convertToDTO(user);
     }
 
-    private User.Role determineRole(Jwt jwt) {
-        var permissions = jwt.getClaimAsStringList("permissions");
+    // The users cache is transaction aware, so these run only once the update has committed
+    private void evictUser(User user, String previousHash) {
+        Cache cache = cacheManager.getCache("users");
+        if (cache == null) {
+            return;
+        }
+        cache.evict(user.getEmail());
+        cache.evict(user.getId());
+        if (previousHash != null) {
+            cache.evict("claims:" + previousHash);
+        }
+    }
+
+    private User.Role determineRole(List<String> permissions) {
         if (permissions != null && permissions.contains("admin")) {
             return User.Role.ADMIN;
         }
@@ -0,0 +1,109 @@
+package com.example.flightbookingsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("auth0|user")
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static Clock at(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static Clock ticking(AtomicReference<Instant> now) {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+    }
+
+    @Test
+    void decode_ShouldVerifyEachTokenOnlyOnce() {
+        Jwt jwt = jwt("token-a", NOW.plus(Duration.ofHours(1)));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, at(NOW));
+
+        assertSame(jwt, decoder.decode("token-a"));
+        assertSame(jwt, decoder.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+    }
+
+    @Test
+    void decode_ShouldVerifyAgain_OnceTokenHasExpired() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(30)));
+        AtomicReference<Instant> now = new AtomicReference<>(NOW);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, ticking(now));
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        now.set(NOW.plusSeconds(30));
+        decoder.decode("token-a");
+
+        verify(delegate, times(2)).decode("token-a");
+    }
+
+    @Test
+    void evictExpired_ShouldDropExpiredTokens() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(30)));
+        when(delegate.decode("token-b")).thenReturn(jwt("token-b", NOW.plusSeconds(90)));
+        AtomicReference<Instant> now = new AtomicReference<>(NOW);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, ticking(now));
+        decoder.decode("token-a");
+        decoder.decode("token-b");
+
+        now.set(NOW.plusSeconds(60));
+
+        assertEquals(1, decoder.evictExpired());
+        assertEquals(1, decoder.size());
+    }
+
+    @Test
+    void decode_ShouldNotCacheBeyondMaxEntries() {
+        when(delegate.decode(anyString())).thenAnswer(i -> jwt(i.getArgument(0), NOW.plus(Duration.ofHours(1))));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 2, at(NOW));
+
+        decoder.decode("token-a");
+        decoder.decode("token-b");
+        decoder.decode("token-c");
+        decoder.decode("token-c");
+
+        assertEquals(2, decoder.size());
+        verify(delegate, times(2)).decode("token-c");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.flightbookingsystem.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileBackedJwkSourceTest {
+
+    private static RSAKey oldKey;
+    private static RSAKey newKey;
+
+    @TempDir
+    Path dir;
+
+    private HttpServer issuer;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicReference<JWKSet> published = new AtomicReference<>();
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        oldKey = new RSAKeyGenerator(2048).keyID("old").generate();
+        newKey = new RSAKeyGenerator(2048).keyID("new").generate();
+    }
+
+    @AfterEach
+    void stopIssuer() {
+        if (issuer != null) {
+            issuer.stop(0);
+        }
+    }
+
+    private URL serve(RSAKey... keys) throws Exception {
+        publish(keys);
+        issuer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        issuer.createContext("/.well-known/jwks.json", exchange -> {
+            downloads.incrementAndGet();
+            byte[] body = published.get().toString(true).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        issuer.start();
+        return URI.create("http://127.0.0.1:" + issuer.getAddress().getPort() + "/.well-known/jwks.json").toURL();
+    }
+
+    private void publish(RSAKey... keys) {
+        published.set(new JWKSet(List.<JWK>of(keys)));
+    }
+
+    private static List<JWK> select(JWKSource<SecurityContext> source, String keyId) throws Exception {
+        return source.get(new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build()), null);
+    }
+
+    @Test
+    void get_ShouldFallBackToFileWhenIssuerIsUnreachable() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, new JWKSet(oldKey).toString(true));
+        URL unreachable = URI.create("http://127.0.0.1:1/.well-known/jwks.json").toURL();
+
+        JWKSource<SecurityContext> source = FileBackedJwkSource.create(unreachable, file, Duration.ofMinutes(5));
+
+        assertEquals("old", select(source, "old").get(0).getKeyID());
+    }
+
+    @Test
+    void get_ShouldNotTrustKeysFromFileThatIssuerNoLongerPublishes() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, new JWKSet(oldKey).toString(true));
+        JWKSource<SecurityContext> source = FileBackedJwkSource.create(serve(newKey), file, Duration.ofMinutes(5));
+
+        assertEquals("new", select(source, "new").get(0).getKeyID());
+        assertTrue(select(source, "old").isEmpty());
+        assertNull(JWKSet.load(file.toFile()).getKeyByKeyId("old"));
+        assertNotNull(JWKSet.load(file.toFile()).getKeyByKeyId("new"));
+    }
+
+    @Test
+    void get_ShouldDropRetiredKeysOnceTheCacheExpires() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        JWKSource<SecurityContext> source = FileBackedJwkSource.create(serve(oldKey), file,
+                Duration.ofMillis(500), Duration.ofMillis(1));
+        assertEquals("old", select(source, "old").get(0).getKeyID());
+
+        publish(newKey);
+        Thread.sleep(700);
+
+        assertTrue(select(source, "old").isEmpty());
+        assertEquals("new", select(source, "new").get(0).getKeyID());
+    }
+
+    @Test
+    void get_ShouldRateLimitRefreshesForUnknownKeyIds() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        JWKSource<SecurityContext> source = FileBackedJwkSource.create(serve(oldKey), file, Duration.ofMinutes(5));
+
+        select(source, "old");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(select(source, "forged").isEmpty());
+        }
+
+        // The rate limiter lets through at most two downloads per interval
+        assertTrue(downloads.get() <= 2);
+    }
+}
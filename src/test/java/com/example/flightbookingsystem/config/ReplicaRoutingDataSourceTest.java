@@ -0,0 +1,159 @@
+package com.example.flightbookingsystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReplicaRoutingDataSource(database(ReplicaRoutingDataSource.PRIMARY), replicas);
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.pinToPrimary(false);
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRoundRobinOverReplicas() {
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            targets.add(readOnly.execute(status -> currentDatabase()));
+        }
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), targets);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_WhenPinnedAfterOwnWrite() {
+        ReplicaRoutingDataSource.pinToPrimary(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldSkipReplicaThatFailsHealthCheck() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable"));
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReplicaRoutingDataSource(database(ReplicaRoutingDataSource.PRIMARY), replicas);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        assertEquals("replica-2", readOnly.execute(status -> currentDatabase()));
+        assertEquals("replica-2", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldFailOverAndSkipReplica_WhenConnectionFails() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable"));
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReplicaRoutingDataSource(database(ReplicaRoutingDataSource.PRIMARY), replicas);
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            targets.add(readOnly.execute(status -> currentDatabase()));
+        }
+
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"), targets);
+    }
+
+    @Test
+    void checkReplicas_ShouldReturnWithinProbeTimeout_WhenReplicaHangs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DataSource hanging = new DriverManagerDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new SQLException("Connection timed out");
+            }
+        };
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", hanging);
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReplicaRoutingDataSource(database(ReplicaRoutingDataSource.PRIMARY), replicas);
+        routingDataSource.afterPropertiesSet();
+
+        long started = System.nanoTime();
+        routingDataSource.checkReplicas();
+        long elapsed = System.nanoTime() - started;
+        release.countDown();
+
+        assertTrue(elapsed < ReplicaRoutingDataSource.PROBE_TIMEOUT.plusMillis(500).toNanos());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        assertEquals("replica-2", readOnly.execute(status -> currentDatabase()));
+        routingDataSource.close();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM target", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS target (name VARCHAR(20))");
+        template.execute("DELETE FROM target");
+        template.update("INSERT INTO target (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.flightbookingsystem.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[" + "{\"flightNumber\":\"VN123\",\"origin\":\"SGN\"},".repeat(100) + "{}]";
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(new ConcurrentMapCacheManager(), 2048);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                controllerCalls.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.setHeader("ETag", "\"search-abc\"");
+                resp.setHeader("Cache-Control", "max-age=30, public");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+
+    private static MockHttpServletRequest search() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/flights/search");
+        request.setParameter("origin", "sgn");
+        request.setParameter("destination", "han");
+        request.setQueryString("origin=sgn&destination=han&seats=2");
+        return request;
+    }
+
+    @Test
+    void doFilter_ShouldServeStoredBytesWithoutCallingController() throws Exception {
+        perform(search());
+        MockHttpServletResponse hit = perform(search());
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(BODY, hit.getContentAsString());
+        assertEquals("max-age=30, public", hit.getHeader("Cache-Control"));
+        assertNull(hit.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    void doFilter_ShouldServeGzipVariant_WhenAccepted() throws Exception {
+        perform(search());
+        MockHttpServletRequest request = search();
+        request.addHeader("Accept-Encoding", "gzip, br;q=0");
+
+        MockHttpServletResponse hit = perform(request);
+
+        assertEquals("gzip", hit.getHeader("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(hit.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void doFilter_ShouldAnswer304FromStoredETag() throws Exception {
+        perform(search());
+        MockHttpServletRequest request = search();
+        request.addHeader("If-None-Match", "\"search-abc\"");
+
+        MockHttpServletResponse hit = perform(request);
+
+        assertEquals(304, hit.getStatus());
+        assertEquals(0, hit.getContentAsByteArray().length);
+        assertEquals(1, controllerCalls.get());
+    }
+
+    @Test
+    void doFilter_ShouldBypassCache_WhenCborRequested() throws Exception {
+        perform(search());
+        MockHttpServletRequest request = search();
+        request.addHeader("Accept", "application/cbor");
+
+        perform(request);
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void cacheKey_ShouldStartWithRouteSoRoutesCanBeEvicted() {
+        assertEquals("SGN:HAN:origin=sgn&destination=han&seats=2",
+                ResponseCacheFilter.cacheKey(search(), "/api/v1/flights/search"));
+        assertEquals("42", ResponseCacheFilter.cacheKey(search(), "/api/v1/flights/42"));
+        assertNull(ResponseCacheFilter.cacheName("/api/v1/flights/42/seats"));
+    }
+
+    @Test
+    void accepts_ShouldHonourZeroQuality() {
+        assertTrue(ResponseCacheFilter.accepts("gzip, deflate, br", "br"));
+        assertFalse(ResponseCacheFilter.accepts("gzip;q=1.0, br;q=0", "br"));
+        assertFalse(ResponseCacheFilter.accepts(null, "gzip"));
+    }
+}
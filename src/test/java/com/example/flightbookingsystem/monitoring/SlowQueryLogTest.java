@@ -0,0 +1,64 @@
+package com.example.flightbookingsystem.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    private static SlowQueryLog.SlowQuery query(String sql) {
+        return new SlowQueryLog.SlowQuery(Instant.now(), 600, sql, 0, 1, true);
+    }
+
+    @Test
+    void recent_ShouldKeepOnlyNewestEntriesUpToCapacity() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(500, 3);
+        for (int i = 1; i <= 5; i++) {
+            slowQueryLog.record(query("SELECT " + i));
+        }
+
+        List<String> sql = slowQueryLog.recent().stream().map(SlowQueryLog.SlowQuery::sql).toList();
+
+        assertEquals(List.of("SELECT 5", "SELECT 4", "SELECT 3"), sql);
+    }
+
+    @Test
+    void afterQuery_ShouldRecordSqlAndBindCountOfSlowStatements() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(500, 10);
+        QueryInfo queryInfo = new QueryInfo("SELECT * FROM flights WHERE origin = ? AND destination = ?");
+        queryInfo.getParametersList().add(List.of(
+                new ParameterSetOperation(null, null), new ParameterSetOperation(null, null)));
+
+        ExecutionInfo fast = new ExecutionInfo();
+        fast.setElapsedTime(20);
+        fast.setSuccess(true);
+        slowQueryLog.afterQuery(fast, List.of(queryInfo));
+
+        ExecutionInfo slow = new ExecutionInfo();
+        slow.setElapsedTime(750);
+        slow.setSuccess(true);
+        slowQueryLog.afterQuery(slow, List.of(queryInfo));
+
+        List<SlowQueryLog.SlowQuery> recent = slowQueryLog.recent();
+        assertEquals(1, recent.size());
+        assertEquals(750, recent.get(0).durationMs());
+        assertEquals(2, recent.get(0).bindCount());
+        assertTrue(recent.get(0).sql().startsWith("SELECT * FROM flights"));
+    }
+
+    @Test
+    void clear_ShouldEmptyTheBuffer() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(500, 2);
+        slowQueryLog.record(query("SELECT 1"));
+
+        slowQueryLog.clear();
+
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+
+    private void advanceSeconds(double seconds) {
+        now.addAndGet((long) (seconds * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacityThenReject() {
+        LocalRateLimiter limiter = new LocalRateLimiter(4, 100, Duration.ofMinutes(10), now::get);
+        RateLimitProperties.Limit limit = limit(3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip:10.0.0.1", limit).allowed());
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("ip:10.0.0.1", limit);
+
+        assertFalse(rejected.allowed());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("ip:10.0.0.2", limit).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        LocalRateLimiter limiter = new LocalRateLimiter(4, 100, Duration.ofMinutes(10), now::get);
+        RateLimitProperties.Limit limit = limit(2, 0.5);
+        limiter.tryAcquire("sub:alice", limit);
+        limiter.tryAcquire("sub:alice", limit);
+
+        assertEquals(2, limiter.tryAcquire("sub:alice", limit).retryAfterSeconds());
+
+        advanceSeconds(2);
+        assertTrue(limiter.tryAcquire("sub:alice", limit).allowed());
+        assertFalse(limiter.tryAcquire("sub:alice", limit).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldBoundBucketCount() {
+        LocalRateLimiter limiter = new LocalRateLimiter(2, 10, Duration.ofMinutes(10), now::get);
+        RateLimitProperties.Limit limit = limit(5, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256), limit);
+        }
+
+        assertTrue(limiter.size() <= 10);
+    }
+
+    @Test
+    void evictIdle_ShouldDropBucketsUnusedForIdleTimeout() {
+        LocalRateLimiter limiter = new LocalRateLimiter(4, 100, Duration.ofMinutes(10), now::get);
+        RateLimitProperties.Limit limit = limit(5, 1);
+        limiter.tryAcquire("ip:10.0.0.1", limit);
+        advanceSeconds(300);
+        limiter.tryAcquire("ip:10.0.0.2", limit);
+        advanceSeconds(400);
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
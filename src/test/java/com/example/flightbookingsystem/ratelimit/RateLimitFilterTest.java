@@ -0,0 +1,81 @@
+package com.example.flightbookingsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route search = new RateLimitProperties.Route();
+        search.setPattern("/api/v1/flights/search");
+        search.setCapacity(1);
+        search.setRefillPerSecond(0.1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(search));
+        properties.setTrustedProxies(List.of("10.0.0.0/24"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new LocalRateLimiter(4, 100, Duration.ofMinutes(10)), properties,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    private MockHttpServletResponse perform(String path, String forwardedFor) throws Exception {
+        return perform(path, "10.0.0.5", forwardedFor);
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddr, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void doFilter_ShouldReject_WhenRouteBucketIsEmpty() throws Exception {
+        assertEquals(200, perform("/api/v1/flights/search", "203.0.113.7").getStatus());
+        MockHttpServletResponse rejected = perform("/api/v1/flights/search", "203.0.113.7");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.ratelimit.rejected")
+                .tag("route", "/api/v1/flights/search").counter().count());
+        // Other routes fall back to the default limit and have buckets of their own
+        assertEquals(200, perform("/api/v1/flights/42", "203.0.113.7").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldKeyOnLastForwardedAddress() throws Exception {
+        perform("/api/v1/flights/search", "198.51.100.1, 203.0.113.7");
+
+        // A spoofed first hop does not buy a fresh bucket
+        assertEquals(429, perform("/api/v1/flights/search", "198.51.100.2, 203.0.113.7").getStatus());
+        assertEquals(200, perform("/api/v1/flights/search", "198.51.100.1, 203.0.113.8").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreForwardedFor_WhenNotFromTrustedProxy() throws Exception {
+        perform("/api/v1/flights/search", "192.0.2.1", "203.0.113.7");
+
+        // Rotating the header from an untrusted address does not buy a fresh bucket
+        assertEquals(429, perform("/api/v1/flights/search", "192.0.2.1", "203.0.113.8").getStatus());
+        assertEquals(200, perform("/api/v1/flights/search", "10.0.0.5", "203.0.113.8").getStatus());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.dto.BookingStatusDTO;
+import com.example.flightbookingsystem.exception.BookingQueueFullException;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBookingServiceTest {
+
+    @Mock private BookingService bookingService;
+    @Mock private BookingRepository bookingRepository;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private ValueOperations<String, Object> valueOperations;
+
+    private AsyncBookingService asyncBookingService;
+
+    private final BookingDTO request = BookingDTO.builder().userId(1L).flightId(1L).numberOfSeats(2).build();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (asyncBookingService != null) {
+            asyncBookingService.stop();
+        }
+    }
+
+    private AsyncBookingService service(int capacity, int workers) {
+        asyncBookingService = new AsyncBookingService(bookingService, bookingRepository, redisTemplate,
+                new SimpleMeterRegistry(), capacity, workers, 20);
+        asyncBookingService.start();
+        return asyncBookingService;
+    }
+
+    @Test
+    void submit_ShouldQueueAndLetWorkerConfirmBooking() {
+        when(bookingService.createBooking(eq(request), anyString()))
+                .thenAnswer(i -> BookingDTO.builder().bookingReference(i.getArgument(1)).status("CONFIRMED").build());
+
+        BookingStatusDTO accepted = service(10, 1).submit(request);
+
+        assertEquals(AsyncBookingService.QUEUED, accepted.getStatus());
+        verify(bookingService, timeout(2000)).createBooking(request, accepted.getBookingReference());
+        ArgumentCaptor<Object> statuses = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations, timeout(2000).times(2))
+                .set(eq("bookingStatus::" + accepted.getBookingReference()), statuses.capture(), any(Duration.class));
+        assertEquals("CONFIRMED", ((BookingStatusDTO) statuses.getAllValues().get(1)).getStatus());
+    }
+
+    @Test
+    void submit_ShouldRecordFailureReason_WhenBookingIsRejected() {
+        when(bookingService.createBooking(eq(request), anyString())).thenThrow(new BusinessException("Not enough seats available"));
+
+        BookingStatusDTO accepted = service(10, 1).submit(request);
+
+        ArgumentCaptor<Object> statuses = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations, timeout(2000).times(2))
+                .set(eq("bookingStatus::" + accepted.getBookingReference()), statuses.capture(), any(Duration.class));
+        BookingStatusDTO failed = (BookingStatusDTO) statuses.getAllValues().get(1);
+        assertEquals(AsyncBookingService.FAILED, failed.getStatus());
+        assertEquals("Not enough seats available", failed.getMessage());
+    }
+
+    @Test
+    void submit_ShouldApplyBackpressure_WhenQueueIsFull() {
+        AsyncBookingService noWorkers = service(1, 0);
+        noWorkers.submit(request);
+
+        assertThrows(BookingQueueFullException.class, () -> noWorkers.submit(request));
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getStatus_ShouldFallBackToStoredBooking_WhenStatusExpired() {
+        when(valueOperations.get("bookingStatus::BK1")).thenReturn(null);
+        when(bookingRepository.findDtoByBookingReference("BK1"))
+                .thenReturn(Optional.of(BookingDTO.builder().bookingReference("BK1").status("CANCELLED").build()));
+
+        assertEquals("CANCELLED", service(10, 1).getStatus("BK1").getStatus());
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.flightbookingsystem.service;
 
 import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.event.SeatAvailabilityChangedEvent;
 import com.example.flightbookingsystem.exception.BusinessException;
 import com.example.flightbookingsystem.exception.ResourceNotFoundException;
 import com.example.flightbookingsystem.model.Booking;
+import com.example.flightbookingsystem.model.BookingReference;
 import com.example.flightbookingsystem.model.Flight;
 import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.repository.BookingArchiveRepository;
 import com.example.flightbookingsystem.repository.BookingRepository;
 import com.example.flightbookingsystem.repository.FlightRepository;
 import com.example.flightbookingsystem.repository.UserRepository;
@@ -16,6 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -30,10 +36,17 @@ import static org.mockito.Mockito.*;
 @DisplayName("Booking Service Unit Tests")
 class BookingServiceTest {
 
-    @Mock private BookingRepository bookingRepository;
-    @Mock private FlightRepository  flightRepository;
-    @Mock private UserRepository    userRepository;
-    @Mock private FlightService     flightService;
+    @Mock private BookingRepository        bookingRepository;
+    @Mock private BookingArchiveRepository bookingArchiveRepository;
+    @Mock private FlightRepository         flightRepository;
+    @Mock private UserRepository           userRepository;
+    @Mock private FlightService            flightService;
+    @Mock private SeatMapService           seatMapService;
+    @Mock private RouteSummaryService      routeSummaryService;
+    @Mock private FlightCacheEvictor       flightCacheEvictor;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private CacheManager             cacheManager;
+    @Mock private Cache                    userBookingsCache;
 
     private BookingService bookingService;
 
@@ -44,9 +57,15 @@ class BookingServiceTest {
     @BeforeEach
     void setUp() {
         bookingService = new BookingService(bookingRepository,
+                bookingArchiveRepository,
                 flightRepository,
                 userRepository,
-                flightService);
+                flightService,
+                seatMapService,
+                routeSummaryService,
+                flightCacheEvictor,
+                eventPublisher,
+                cacheManager);
 
         testFlight = Flight.builder()
                 .id(1L).flightNumber("VN123").airline("Vietnam Airlines")
@@ -91,6 +110,7 @@ class BookingServiceTest {
         when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(flightService.decreaseAvailableSeats(1L, 2)).thenReturn(true);
+        when(seatMapService.assignSeats(testFlight, 2)).thenReturn(List.of("1A", "1B"));
 
         ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
         when(bookingRepository.save(captor.capture())).thenAnswer(i -> {
@@ -107,10 +127,27 @@ class BookingServiceTest {
 
         Booking saved = captor.getValue();
         assertEquals(new BigDecimal("3000000"), saved.getTotalPrice());
+        assertEquals("1A,1B", saved.getAssignedSeats());
+        verify(routeSummaryService).seatsBooked(testFlight, 2);
 
         verify(flightService).decreaseAvailableSeats(1L, 2);
     }
 
+    @Test
+    void createBooking_ShouldIssueReferenceThatBoundsItsCreationTime() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(flightService.decreaseAvailableSeats(1L, 2)).thenReturn(true);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+        String reference = bookingService.createBooking(testBookingDTO).getBookingReference();
+
+        assertTrue(reference.length() <= 20);
+        BookingReference.CreationWindow window = BookingReference.creationWindow(reference).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(window.from().isBefore(now) && window.to().isAfter(now));
+    }
+
     @Test
     void createBooking_ShouldThrowException_WhenFlightNotFound() {
         when(flightRepository.findById(1L)).thenReturn(Optional.empty());
@@ -142,6 +179,32 @@ class BookingServiceTest {
         assertTrue(ex.getMessage().contains("Not enough seats"));
     }
 
+    @Test
+    void createBooking_ShouldRetry_WhenGeneratedReferenceIsTaken() {
+        when(bookingRepository.isBookingReferenceTaken(anyString())).thenReturn(true, false);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(flightService.decreaseAvailableSeats(1L, 2)).thenReturn(true);
+        when(seatMapService.assignSeats(testFlight, 2)).thenReturn(List.of("1A", "1B"));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+        bookingService.createBooking(testBookingDTO);
+
+        verify(bookingRepository, times(2)).lockBookingReference(anyString());
+        verify(bookingRepository).save(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_ShouldReject_WhenQueuedReferenceIsTaken() {
+        when(bookingRepository.isBookingReferenceTaken("BK1234567890123")).thenReturn(true);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> bookingService.createBooking(testBookingDTO, "BK1234567890123"));
+
+        assertTrue(ex.getMessage().contains("already in use"));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void cancelBooking_ShouldCancelSuccessfully() {
         Booking confirmed = createConfirmedBooking(); // fresh copy
@@ -157,16 +220,52 @@ class BookingServiceTest {
         assertEquals(Booking.BookingStatus.CANCELLED, captor.getValue().getStatus());
     }
 
+    @Test
+    void cancelBooking_ShouldReleaseAssignedSeats() {
+        Booking confirmed = createConfirmedBooking();
+        confirmed.setAssignedSeats("3C,3D");
+        when(bookingRepository.findByBookingReference("BK1234567890123"))
+                .thenReturn(Optional.of(confirmed));
+
+        bookingService.cancelBooking("BK1234567890123");
+
+        verify(seatMapService).releaseSeats(testFlight, "3C,3D");
+        verify(routeSummaryService).seatsReleased(testFlight, 2);
+        verify(flightCacheEvictor).evictFlight(1L, "VN123");
+        verify(eventPublisher).publishEvent(new SeatAvailabilityChangedEvent(1L, 52));
+    }
+
+    @Test
+    void cancelBooking_ShouldEvictRouteSearchesAndUserBookings() {
+        Booking confirmed = createConfirmedBooking();
+        when(bookingRepository.findByBookingReference("BK1234567890123"))
+                .thenReturn(Optional.of(confirmed));
+        when(cacheManager.getCache("userBookings")).thenReturn(userBookingsCache);
+
+        bookingService.cancelBooking("BK1234567890123");
+
+        verify(flightCacheEvictor).evictRouteSearches("SGN", "HAN");
+        verify(userBookingsCache).evict(testUser.getId());
+    }
+
+    @Test
+    void getBookingByReference_ShouldReadThroughToArchive() {
+        BookingDTO archived = BookingDTO.builder().id(7L).bookingReference("BK1234567890123").flightNumber("VN123").build();
+        when(bookingRepository.findDtoByBookingReference("BK1234567890123")).thenReturn(Optional.empty());
+        when(bookingArchiveRepository.findDtoByBookingReference("BK1234567890123")).thenReturn(Optional.of(archived));
+
+        assertEquals(archived, bookingService.getBookingByReference("BK1234567890123"));
+    }
+
     @Test
     void getUserBookings_ShouldReturnBookingList() {
-        Booking b1 = createConfirmedBooking();
-        Booking b2 = createConfirmedBooking();
-        b2.setId(2L);
-        b2.setBookingReference("BK9876543210987");
+        BookingDTO b1 = BookingDTO.builder().id(1L).bookingReference("BK1234567890123").userId(1L).build();
+        BookingDTO b2 = BookingDTO.builder().id(2L).bookingReference("BK9876543210987").userId(1L).build();
 
-        when(bookingRepository.findByUserId(1L)).thenReturn(List.of(b1, b2));
+        when(bookingRepository.findDtosByUserId(1L)).thenReturn(List.of(b1, b2));
 
         List<BookingDTO> result = bookingService.getUserBookings(1L);
         assertEquals(2, result.size());
+        verify(bookingRepository, never()).findByUserId(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.BookingDTO;
+import com.example.flightbookingsystem.dto.ExportFormat;
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.repository.BookingRepository;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock private FlightRepository flightRepository;
+    @Mock private BookingRepository bookingRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(flightRepository, bookingRepository, objectMapper);
+    }
+
+    private FlightDTO flight(long id, String airline) {
+        return FlightDTO.builder()
+                .id(id).flightNumber("VN" + id).airline(airline)
+                .origin("SGN").destination("HAN")
+                .departureTime(LocalDateTime.of(2030, 1, 1, 8, 0))
+                .arrivalTime(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .totalSeats(200).availableSeats(150)
+                .price(new BigDecimal("1500000"))
+                .status("SCHEDULED")
+                .build();
+    }
+
+    @Test
+    void exportFlights_ShouldWriteOneJsonDocumentPerLine() throws Exception {
+        when(flightRepository.streamAllForExport())
+                .thenReturn(Stream.of(flight(1L, "Vietnam Airlines"), flight(2L, "Bamboo Airways")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportFlights(out, ExportFormat.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("VN2", second.get("flightNumber").asText());
+        assertEquals("SCHEDULED", second.get("status").asText());
+    }
+
+    @Test
+    void exportFlights_ShouldEscapeCsvFields() throws Exception {
+        when(flightRepository.streamAllForExport()).thenReturn(Stream.of(flight(1L, "Air \"Best\", Ltd")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportFlights(out, ExportFormat.CSV);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[0].startsWith("id,flightNumber,airline,"));
+        assertTrue(lines[1].startsWith("1,VN1,\"Air \"\"Best\"\", Ltd\",SGN,HAN,"));
+    }
+
+    @Test
+    void exportBookings_ShouldWriteEveryStreamedRow() throws Exception {
+        int total = BookingRepository.EXPORT_FETCH_SIZE * 2 + 1;
+        Stream<BookingDTO> bookings = IntStream.rangeClosed(1, total)
+                .mapToObj(i -> BookingDTO.builder()
+                        .id((long) i).bookingReference("BK" + i)
+                        .userId(7L).flightId(1L).flightNumber("VN1")
+                        .numberOfSeats(1).totalPrice(BigDecimal.TEN)
+                        .status("CONFIRMED")
+                        .build());
+        when(bookingRepository.streamAllForExport()).thenReturn(bookings);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportBookings(out, ExportFormat.NDJSON);
+
+        assertEquals(total, rows);
+        assertEquals(total, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+}
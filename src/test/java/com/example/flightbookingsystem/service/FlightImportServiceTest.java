@@ -0,0 +1,23 @@
+package com.example.flightbookingsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightImportServiceTest {
+
+    @Test
+    void readCsvRecord_ShouldReadWhatExportWrites() throws Exception {
+        String line = String.join(",", ExportService.escapeCsv("VN1"), ExportService.escapeCsv("Air \"Quote\", Inc"),
+                ExportService.escapeCsv("multi\nline"), ExportService.escapeCsv(null));
+        BufferedReader reader = new BufferedReader(new StringReader(line + "\r\nVN2,Bamboo\n"));
+
+        assertEquals(List.of("VN1", "Air \"Quote\", Inc", "multi\nline", ""), FlightImportService.readCsvRecord(reader));
+        assertEquals(List.of("VN2", "Bamboo"), FlightImportService.readCsvRecord(reader));
+        assertNull(FlightImportService.readCsvRecord(reader));
+    }
+}
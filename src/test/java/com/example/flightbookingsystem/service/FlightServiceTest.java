@@ -1,6 +1,9 @@
 package com.example.flightbookingsystem.service;
 
 import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSearchRequest;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.exception.BusinessException;
 import com.example.flightbookingsystem.exception.ResourceNotFoundException;
 import com.example.flightbookingsystem.model.Flight;
 import com.example.flightbookingsystem.repository.FlightRepository;
@@ -8,15 +11,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +34,9 @@ class FlightServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FlightService flightService;
 
@@ -55,13 +67,19 @@ class FlightServiceTest {
     @Test
     @DisplayName("Should return flight when flight exists")
     void getFlightById_ShouldReturnFlight_WhenFlightExists() {
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        FlightDTO projected = FlightDTO.builder()
+                .id(testFlight.getId())
+                .flightNumber(testFlight.getFlightNumber())
+                .status(testFlight.getStatus().name())
+                .build();
+        when(flightRepository.findDtoById(1L)).thenReturn(Optional.of(projected));
 
         FlightDTO result = flightService.getFlightById(1L);
 
         assertNotNull(result);
         assertEquals("VN123", result.getFlightNumber());
-        verify(flightRepository, times(1)).findById(1L);
+        verify(flightRepository, times(1)).findDtoById(1L);
+        verify(flightRepository, never()).findById(1L);
     }
 
     @Test
@@ -71,4 +89,95 @@ class FlightServiceTest {
             flightService.getFlightById(id);
         });
     }
+
+    @Test
+    void searchFlights_ShouldPushNormalizedFilterDownToRepository() {
+        FlightSearchRequest request = FlightSearchRequest.builder()
+                .origin(" sgn").destination("han ")
+                .departureTime(departureTime).seats(2)
+                .airline(" Vietnam Airlines ")
+                .minPrice(new BigDecimal("1000000.00"))
+                .sortBy(FlightSearchRequest.SortBy.PRICE)
+                .build();
+        when(flightRepository.searchAvailableFlights(any())).thenReturn(List.of());
+
+        flightService.searchFlights(request);
+
+        ArgumentCaptor<FlightSearchRequest> captor = ArgumentCaptor.forClass(FlightSearchRequest.class);
+        verify(flightRepository).searchAvailableFlights(captor.capture());
+        FlightSearchRequest pushedDown = captor.getValue();
+        assertEquals("SGN", pushedDown.getOrigin());
+        assertEquals("HAN", pushedDown.getDestination());
+        assertEquals("vietnam airlines", pushedDown.getAirline());
+        assertEquals(Sort.Direction.ASC, pushedDown.getSortDirection());
+        assertEquals(FlightSearchRequest.DEFAULT_LIMIT, pushedDown.getLimit());
+        assertEquals(request.cacheKey(), pushedDown.cacheKey());
+        assertTrue(request.cacheKey().startsWith("SGN:HAN:"));
+    }
+
+    @Test
+    void searchFlights_ShouldRejectMinPriceAboveMaxPrice() {
+        FlightSearchRequest request = FlightSearchRequest.builder()
+                .origin("SGN").destination("HAN")
+                .departureTime(departureTime).seats(1)
+                .minPrice(new BigDecimal("2000000")).maxPrice(new BigDecimal("1000000"))
+                .build();
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> flightService.searchFlights(request));
+
+        assertTrue(ex.getMessage().contains("minPrice"));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void searchFlights_ShouldRejectReversedTimeWindow() {
+        FlightSearchRequest request = FlightSearchRequest.builder()
+                .origin("SGN").destination("HAN")
+                .departureTime(departureTime).seats(1)
+                .departureFrom(LocalTime.of(14, 0)).departureTo(LocalTime.of(10, 0))
+                .build();
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> flightService.searchFlights(request));
+
+        assertTrue(ex.getMessage().contains("departureFrom"));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void searchFlights_ShouldAcceptWindowWrappingPastMidnight() {
+        FlightSearchRequest request = FlightSearchRequest.builder()
+                .origin("SGN").destination("HAN")
+                .departureTime(departureTime).seats(1)
+                .arrivalFrom(LocalTime.of(22, 0)).arrivalTo(LocalTime.of(2, 0))
+                .build();
+        when(flightRepository.searchAvailableFlights(any())).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> flightService.searchFlights(request));
+    }
+
+    @Test
+    void updateFlight_ShouldPublishPreviousAndCurrentState() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.save(any(Flight.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        FlightDTO changes = FlightDTO.builder()
+                .flightNumber("VN123")
+                .airline("Vietnam Airlines")
+                .origin("SGN")
+                .destination("DAD")
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .totalSeats(200)
+                .availableSeats(150)
+                .price(new BigDecimal("1500000"))
+                .build();
+
+        flightService.updateFlight(1L, changes);
+
+        ArgumentCaptor<FlightChangedEvent> captor = ArgumentCaptor.forClass(FlightChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("VN123", captor.getValue().previous().getFlightNumber());
+        assertEquals("HAN", captor.getValue().previous().getDestination());
+        assertEquals("VN123", captor.getValue().current().getFlightNumber());
+        assertEquals("DAD", captor.getValue().current().getDestination());
+    }
 }
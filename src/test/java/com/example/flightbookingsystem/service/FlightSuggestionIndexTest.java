@@ -0,0 +1,106 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.FlightSuggestionDTO;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSuggestionIndexTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @InjectMocks
+    private FlightSuggestionIndex flightSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.streamFlightCodes()).thenReturn(Stream.of(
+                codes("VN123", "SGN", "HAN"),
+                codes("VN124", "HAN", "SGN"),
+                codes("VJ200", "SGN", "SIN")));
+        flightSuggestionIndex.rebuild();
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixCaseInsensitively() {
+        FlightSuggestionDTO result = flightSuggestionIndex.suggest("s", 10);
+
+        assertEquals(List.of("SGN", "SIN"), result.getAirports());
+        assertTrue(result.getFlightNumbers().isEmpty());
+        assertEquals(List.of("VN123", "VN124"), flightSuggestionIndex.suggest("vn1", 10).getFlightNumbers());
+    }
+
+    @Test
+    void suggest_ShouldCapResultsAtLimit() {
+        assertEquals(List.of("VJ200"), flightSuggestionIndex.suggest("V", 1).getFlightNumbers());
+        assertTrue(flightSuggestionIndex.suggest(" ", 10).getAirports().isEmpty());
+    }
+
+    @Test
+    void onFlightChanged_ShouldKeepAirportsStillServedByOtherFlights() {
+        flightSuggestionIndex.onFlightChanged(FlightChangedEvent.deleted(flight("VJ200", "SGN", "SIN")));
+        flightSuggestionIndex.onFlightChanged(FlightChangedEvent.created(flight("QH300", "DAD", "HAN")));
+
+        assertEquals(List.of("SGN"), flightSuggestionIndex.suggest("S", 10).getAirports());
+        assertEquals(List.of("DAD"), flightSuggestionIndex.suggest("D", 10).getAirports());
+        assertEquals(List.of("QH300"), flightSuggestionIndex.suggest("QH", 10).getFlightNumbers());
+        assertTrue(flightSuggestionIndex.suggest("VJ", 10).getFlightNumbers().isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangeHandledWhileStreaming() throws InterruptedException {
+        Thread listener = new Thread(() -> flightSuggestionIndex.onFlightChanged(
+                FlightChangedEvent.created(flight("QH300", "DAD", "HAN"))));
+        when(flightRepository.streamFlightCodes()).thenAnswer(invocation -> {
+            // The flight committed after the snapshot, so the stream doesn't contain it
+            listener.start();
+            while (listener.getState() != Thread.State.BLOCKED && listener.getState() != Thread.State.TERMINATED) {
+                Thread.onSpinWait();
+            }
+            return Stream.of(codes("VN123", "SGN", "HAN"));
+        });
+
+        flightSuggestionIndex.rebuild();
+        listener.join();
+
+        assertEquals(List.of("QH300"), flightSuggestionIndex.suggest("QH", 10).getFlightNumbers());
+        assertEquals(List.of("DAD"), flightSuggestionIndex.suggest("D", 10).getAirports());
+    }
+
+    private static FlightRepository.FlightCodes codes(String flightNumber, String origin, String destination) {
+        return new FlightRepository.FlightCodes() {
+            @Override
+            public String getFlightNumber() {
+                return flightNumber;
+            }
+
+            @Override
+            public String getOrigin() {
+                return origin;
+            }
+
+            @Override
+            public String getDestination() {
+                return destination;
+            }
+        };
+    }
+
+    private static FlightDTO flight(String flightNumber, String origin, String destination) {
+        return FlightDTO.builder().flightNumber(flightNumber).origin(origin).destination(destination).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.RevenueReportDTO;
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.repository.DailyRevenueRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueAnalyticsServiceTest {
+
+    @Mock
+    private DailyRevenueRollupRepository rollupRepository;
+
+    @InjectMocks
+    private RevenueAnalyticsService revenueAnalyticsService;
+
+    @Test
+    void refreshRollups_ShouldReplaceInclusiveRangeOfDays() {
+        ReflectionTestUtils.setField(revenueAnalyticsService, "includeArchive", true);
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(rollupRepository.insertRollupsWithArchive(from.atStartOfDay(), LocalDate.of(2024, 4, 1).atStartOfDay()))
+                .thenReturn(42);
+
+        assertEquals(42, revenueAnalyticsService.refreshRollups(from, to));
+        verify(rollupRepository).deleteRange(from, LocalDate.of(2024, 4, 1));
+        verify(rollupRepository, never()).insertRollups(any(), any());
+    }
+
+    @Test
+    void refreshRollups_ShouldRefuseArchivedDays_WhenArchiveIsNotRead() {
+        ReflectionTestUtils.setField(revenueAnalyticsService, "archiveRetentionDays", 90);
+
+        assertThrows(BusinessException.class, () -> revenueAnalyticsService.refreshRollups(
+                LocalDate.now().minusDays(120), LocalDate.now().minusDays(100)));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void refreshRollups_ShouldRejectInvertedRange() {
+        assertThrows(BusinessException.class,
+                () -> revenueAnalyticsService.refreshRollups(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void getRevenueReport_ShouldUseQueryOfRequestedGrouping() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        RevenueReportDTO row = RevenueReportDTO.builder().airline("Vietjet").seatsOffered(200L).seatsSold(150L).build();
+        when(rollupRepository.reportByAirline(day, day)).thenReturn(List.of(row));
+
+        List<RevenueReportDTO> report = revenueAnalyticsService.getRevenueReport(RevenueReportDTO.GroupBy.AIRLINE, day, day);
+
+        assertEquals(0.75, report.get(0).getLoadFactor(), 1e-9);
+        verify(rollupRepository, never()).reportByDay(any(), any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.dto.FlightDTO;
+import com.example.flightbookingsystem.dto.RouteSummaryDTO;
+import com.example.flightbookingsystem.event.FlightChangedEvent;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.RouteSummary;
+import com.example.flightbookingsystem.repository.RouteSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RouteSummaryServiceTest {
+
+    @Mock
+    private RouteSummaryRepository routeSummaryRepository;
+
+    @InjectMocks
+    private RouteSummaryService routeSummaryService;
+
+    private static FlightDTO flight(String origin, String destination) {
+        return FlightDTO.builder().id(1L).flightNumber("VN123").origin(origin).destination(destination).build();
+    }
+
+    @Test
+    void seatsBooked_ShouldApplyNegativeDeltaToRoute() {
+        Flight flight = Flight.builder().origin("SGN").destination("HAN")
+                .status(Flight.FlightStatus.SCHEDULED).build();
+
+        routeSummaryService.seatsBooked(flight, 3);
+
+        verify(routeSummaryRepository).adjustAvailableSeats("SGN", "HAN", -3);
+    }
+
+    @Test
+    void seatsReleased_ShouldIgnoreFlightsThatAreNotBookable() {
+        Flight flight = Flight.builder().origin("SGN").destination("HAN")
+                .status(Flight.FlightStatus.CANCELLED).build();
+
+        routeSummaryService.seatsReleased(flight, 3);
+
+        verifyNoInteractions(routeSummaryRepository);
+    }
+
+    @Test
+    void onFlightChanged_ShouldRefreshBothRoutesWhenRouteChanges() {
+        routeSummaryService.onFlightChanged(FlightChangedEvent.updated(flight("SGN", "HAN"), flight("SGN", "DAD")));
+
+        verify(routeSummaryRepository).refreshRoute("SGN", "HAN");
+        verify(routeSummaryRepository).refreshRoute("SGN", "DAD");
+        verify(routeSummaryRepository).deleteEmptyRoute("SGN", "HAN");
+    }
+
+    @Test
+    void onFlightChanged_ShouldRefreshRouteOnceWhenRouteIsUnchanged() {
+        routeSummaryService.onFlightChanged(FlightChangedEvent.updated(flight("SGN", "HAN"), flight("SGN", "HAN")));
+
+        verify(routeSummaryRepository, times(1)).refreshRoute("SGN", "HAN");
+    }
+
+    @Test
+    void getRouteSummaries_ShouldComputeLoadFactor() {
+        when(routeSummaryRepository.findAll(any(Sort.class))).thenReturn(List.of(RouteSummary.builder()
+                .origin("SGN").destination("HAN").flightsCount(2)
+                .totalSeats(400L).availableSeats(100L).minPrice(new BigDecimal("1200000"))
+                .build()));
+
+        List<RouteSummaryDTO> summaries = routeSummaryService.getRouteSummaries();
+
+        assertEquals(1, summaries.size());
+        assertEquals(0.75, summaries.get(0).getLoadFactor(), 1e-9);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.event.SeatAvailabilityChangedEvent;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SeatAvailabilityBroadcasterTest {
+
+    private ScheduledExecutorService scheduler;
+    private FlightRepository flightRepository;
+    private List<RecordingEmitter> emitters;
+    private SeatAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        flightRepository = mock(FlightRepository.class);
+        emitters = new ArrayList<>();
+        broadcaster = new SeatAvailabilityBroadcaster(new ObjectMapper(), flightRepository, new SimpleMeterRegistry(),
+                Duration.ofMillis(250), Duration.ofSeconds(25), Duration.ofMinutes(30), 1) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        broadcaster.start(scheduler);
+    }
+
+    @Test
+    void subscribe_ShouldSendCurrentCountImmediately() {
+        broadcaster.subscribe(1L, 42);
+
+        assertEquals(1, broadcaster.subscriberCount(1L));
+        assertTrue(emitters.get(0).frames.get(0).contains("\"availableSeats\":42"));
+    }
+
+    @Test
+    void onSeatAvailabilityChanged_ShouldCoalesceChangesWithinWindow() {
+        broadcaster.subscribe(1L, 42);
+
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 41));
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 39));
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 38));
+        when(flightRepository.findAvailableSeatsById(1L)).thenReturn(Optional.of(38));
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flush.capture(), eq(250L), eq(TimeUnit.MILLISECONDS));
+        flush.getValue().run();
+
+        List<String> frames = emitters.get(0).frames;
+        assertEquals(2, frames.size());
+        assertTrue(frames.get(1).contains("\"availableSeats\":38"));
+    }
+
+    @Test
+    void onSeatAvailabilityChanged_ShouldSendCommittedCountWhenEventsArriveOutOfOrder() {
+        broadcaster.subscribe(1L, 42);
+
+        // Committed as 41 then 39, delivered in reverse
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 39));
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 41));
+        when(flightRepository.findAvailableSeatsById(1L)).thenReturn(Optional.of(39));
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), anyLong(), any());
+        flush.getValue().run();
+
+        assertTrue(emitters.get(0).frames.get(1).contains("\"availableSeats\":39"));
+    }
+
+    @Test
+    void flush_ShouldFallBackToReportedCountWhenDatabaseUnavailable() {
+        broadcaster.subscribe(1L, 42);
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 40));
+        when(flightRepository.findAvailableSeatsById(1L))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), anyLong(), any());
+        flush.getValue().run();
+
+        assertTrue(emitters.get(0).frames.get(1).contains("\"availableSeats\":40"));
+    }
+
+    @Test
+    void onSeatAvailabilityChanged_ShouldFanOutSameFrameToAllSubscribers() {
+        broadcaster.subscribe(1L, 10);
+        broadcaster.subscribe(1L, 10);
+        broadcaster.subscribe(2L, 80);
+
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 8));
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), anyLong(), any());
+        flush.getValue().run();
+
+        assertSame(emitters.get(0).sets.get(1), emitters.get(1).sets.get(1));
+        assertEquals(1, emitters.get(2).frames.size());
+    }
+
+    @Test
+    void onSeatAvailabilityChanged_ShouldIgnoreFlightsWithoutSubscribers() {
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 8));
+
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void fanOut_ShouldDropSubscribersThatFailToReceive() {
+        broadcaster.subscribe(1L, 10);
+        broadcaster.subscribe(1L, 10);
+        emitters.get(0).failing = true;
+
+        broadcaster.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, 8));
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), anyLong(), any());
+        flush.getValue().run();
+
+        assertEquals(1, broadcaster.subscriberCount(1L));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> sets = new ArrayList<>();
+        private final List<String> frames = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sets.add(items);
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+    }
+}
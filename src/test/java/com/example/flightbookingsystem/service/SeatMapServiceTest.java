@@ -0,0 +1,130 @@
+package com.example.flightbookingsystem.service;
+
+import com.example.flightbookingsystem.exception.BusinessException;
+import com.example.flightbookingsystem.model.Flight;
+import com.example.flightbookingsystem.model.FlightSeatMap;
+import com.example.flightbookingsystem.model.SeatBitmap;
+import com.example.flightbookingsystem.repository.FlightRepository;
+import com.example.flightbookingsystem.repository.FlightSeatMapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapServiceTest {
+
+    @Mock
+    private FlightSeatMapRepository seatMapRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @InjectMocks
+    private SeatMapService seatMapService;
+
+    private Flight flight;
+    private FlightSeatMap seatMap;
+
+    @BeforeEach
+    void setUp() {
+        flight = Flight.builder().id(1L).totalSeats(180).availableSeats(180).build();
+        seatMap = FlightSeatMap.builder().flightId(1L).occupied(new byte[0]).build();
+    }
+
+    private void occupy(String... labels) {
+        BitSet bits = BitSet.valueOf(seatMap.getOccupied());
+        for (String label : labels) {
+            bits.set(SeatBitmap.seatIndex(label));
+        }
+        seatMap.setOccupied(bits.toByteArray());
+    }
+
+    @Test
+    void assignSeats_ShouldCreateSeatMapOnFirstBooking() {
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.empty(), Optional.of(seatMap));
+
+        List<String> seats = seatMapService.assignSeats(flight, 3);
+
+        assertEquals(List.of("1A", "1B", "1C"), seats);
+        verify(seatMapRepository).createIfAbsent(1L);
+        assertEquals(0b111, seatMap.getOccupied()[0]);
+    }
+
+    @Test
+    void assignSeats_ShouldKeepPartyTogetherInOneRow() {
+        occupy("1B", "1E", "2A", "2D");
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        assertEquals(List.of("3A", "3B", "3C", "3D"), seatMapService.assignSeats(flight, 4));
+    }
+
+    @Test
+    void assignSeats_ShouldFindRunThatCrossesWordBoundary() {
+        // Row 11 holds seats 60-65, straddling the first and second 64-bit words
+        String[] taken = new String[60];
+        for (int seat = 0; seat < 60; seat++) {
+            taken[seat] = SeatBitmap.label(seat);
+        }
+        occupy(taken);
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        assertEquals(List.of("11A", "11B", "11C", "11D", "11E", "11F"), seatMapService.assignSeats(flight, 6));
+    }
+
+    @Test
+    void assignSeats_ShouldSplitLargePartyOverConsecutiveRows() {
+        occupy("1A", "1B", "2F");
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        List<String> seats = seatMapService.assignSeats(flight, 9);
+
+        assertEquals(List.of("2A", "2B", "2C", "2D", "2E", "3A", "3B", "3C", "3D"), seats);
+    }
+
+    @Test
+    void assignSeats_ShouldScatterPartyWhenNoBlockIsFree() {
+        flight.setTotalSeats(6);
+        occupy("1B", "1D", "1F");
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        assertEquals(List.of("1A", "1C", "1E"), seatMapService.assignSeats(flight, 3));
+    }
+
+    @Test
+    void assignSeats_ShouldThrow_WhenNotEnoughSeatsAreFree() {
+        flight.setTotalSeats(4);
+        occupy("1A", "1B", "1C");
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        assertThrows(BusinessException.class, () -> seatMapService.assignSeats(flight, 2));
+    }
+
+    @Test
+    void releaseSeats_ShouldFreeAssignedSeats() {
+        occupy("12A", "12B", "12C");
+        when(seatMapRepository.findForUpdate(1L)).thenReturn(Optional.of(seatMap));
+
+        seatMapService.releaseSeats(flight, "12A,12C");
+
+        BitSet bits = BitSet.valueOf(seatMap.getOccupied());
+        assertEquals(1, bits.cardinality());
+        assertTrue(bits.get(SeatBitmap.seatIndex("12B")));
+    }
+
+    @Test
+    void releaseSeats_ShouldIgnoreBookingsWithoutSeats() {
+        seatMapService.releaseSeats(flight, null);
+
+        verifyNoInteractions(seatMapRepository);
+    }
+}
@@ -2,12 +2,15 @@ package com.example.flightbookingsystem.service;
 
 import com.example.flightbookingsystem.dto.UserDTO;
 import com.example.flightbookingsystem.model.User;
+import com.example.flightbookingsystem.model.UserClaims;
 import com.example.flightbookingsystem.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -22,6 +25,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache usersCache;
+
     @Mock
     private Authentication authentication;
 
@@ -37,7 +46,7 @@ class UserServiceTest {
     }
 
     @Test
-    void createOrUpdateUserFromAuth0_ShouldHandleNullPermissions() {
+    void syncUser_ShouldHandleNullPermissions() {
         // Arrange
         when(authentication.getPrincipal()).thenReturn(jwt);
         when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
@@ -61,7 +70,7 @@ class UserServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
 
         // Act
-        UserDTO result = userService.createOrUpdateUserFromAuth0(authentication);
+        UserDTO result = userService.syncUser(UserClaims.from(authentication));
 
         // Assert
         assertNotNull(result);
@@ -75,4 +84,60 @@ class UserServiceTest {
         verify(userRepository, times(1)).findByEmail("test@example.com");
         verify(userRepository, times(1)).save(any(User.class));
     }
+
+    @Test
+    void syncUser_ShouldNotWriteWhenClaimsUnchanged() {
+        // Arrange
+        UserClaims claims = new UserClaims("auth0|12345", "test@example.com", "John", "Doe", null);
+        User user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .auth0Id("auth0|12345")
+                .role(User.Role.USER)
+                .active(true)
+                .claimsHash(claims.hash())
+                .build();
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        UserDTO result = userService.syncUser(claims);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void syncUser_ShouldUpdateAndEvictOnlyThatUserWhenClaimsChanged() {
+        // Arrange
+        UserClaims before = new UserClaims("auth0|12345", "test@example.com", "John", "Doe", null);
+        UserClaims after = new UserClaims("auth0|12345", "test@example.com", "Johnny", "Doe", null);
+        User user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .auth0Id("auth0|12345")
+                .role(User.Role.USER)
+                .active(true)
+                .claimsHash(before.hash())
+                .build();
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(cacheManager.getCache("users")).thenReturn(usersCache);
+
+        // Act
+        UserDTO result = userService.syncUser(after);
+
+        // Assert
+        assertEquals("Johnny", result.getFirstName());
+        assertEquals(after.hash(), user.getClaimsHash());
+        verify(usersCache).evict("test@example.com");
+        verify(usersCache).evict(1L);
+        verify(usersCache).evict("claims:" + before.hash());
+        verify(usersCache, never()).clear();
+    }
 }